@@ -0,0 +1,79 @@
+package com.spring.datajpa.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.entity.Team;
+import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.repository.TeamRepository;
+
+/**
+ * auditing 방식별 저장 처리량 (배치 하나 = 트랜잭션 하나)
+ * listener: 엔티티마다 UUID 등록자와 현재 시각 (기존 방식)
+ * shared-jvm / shared-db: 등록자와 시각을 트랜잭션마다 한 번만 구한다.
+ * ./gradlew jmh -PjmhArgs="AuditBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditBenchmark {
+
+    private static final int BATCH = 500;
+
+    @Param({ "listener", "shared-jvm", "shared-db" })
+    public String audit;
+
+    private ConfigurableApplicationContext context;
+    private TeamRepository teamRepository;
+    private MemberRepository memberRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(0,
+                "app.audit.high-throughput=" + !audit.equals("listener"),
+                "app.audit.timestamp-source=" + (audit.equals("shared-db") ? "DATABASE" : "JVM"));
+        teamRepository = context.getBean(TeamRepository.class);
+        memberRepository = context.getBean(MemberRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * BaseEntity (AuditingEntityListener: 등록자 + 시각)
+     */
+    @Benchmark
+    public long saveTeams() {
+        return teamRepository.saveAllInBatches(IntStream.range(0, BATCH).mapToObj(i -> new Team("team" + i)), BATCH);
+    }
+
+    /**
+     * JpaBaseEntity (@PrePersist: 시각)
+     */
+    @Benchmark
+    public long saveMembers() {
+        return memberRepository.saveAllInBatches(
+                IntStream.range(0, BATCH).mapToObj(i -> new Member("member" + i, i, null)), BATCH);
+    }
+}
@@ -0,0 +1,61 @@
+package com.spring.datajpa.benchmark;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.spring.datajpa.DatajpaApplication;
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.entity.Team;
+import com.spring.datajpa.service.MemberBulkImportService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트 (in-memory H2 + 시드 데이터)
+ */
+public final class BenchmarkContext {
+
+    public static final int TEAM_COUNT = 10;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(int members, String... extraProperties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DatajpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "logging.level.org.hibernate.SQL=warn",
+                        "decorator.datasource.p6spy.enable-logging=false")
+                .properties(extraProperties)
+                .run();
+        seed(context, members);
+        return context;
+    }
+
+    /**
+     * username은 "user{i}", age는 0~99, team은 TEAM_COUNT개에 나누어 배정한다.
+     */
+    private static void seed(ConfigurableApplicationContext context, int members) {
+        MemberBulkImportService importService = context.getBean(MemberBulkImportService.class);
+        Team[] teams = IntStream.range(0, TEAM_COUNT).mapToObj(i -> new Team("team" + i)).toArray(Team[]::new);
+        importService.importTeams(Arrays.stream(teams));
+        importService.importMembers(IntStream.range(0, members)
+                .mapToObj(i -> new Member("user" + i, i % 100, teams[i % TEAM_COUNT])));
+        // 생성자에서 team.getMembers()에 쌓인 member는 더 이상 필요 없다.
+        for (Team team : teams) {
+            team.getMembers().clear();
+        }
+    }
+
+    public static Statistics statistics(ConfigurableApplicationContext context) {
+        return context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+}
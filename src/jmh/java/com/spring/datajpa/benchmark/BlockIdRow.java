@@ -0,0 +1,28 @@
+package com.spring.datajpa.benchmark;
+
+import com.spring.datajpa.id.BlockSequence;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * IdGeneratorBenchmark 비교용, &#64;BlockSequence (구간 크기는 DefaultIdRow와 같다.)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BlockIdRow {
+
+    @Id
+    @BlockSequence(name = "block_id_row_seq", blockSize = 1000)
+    private Long id;
+
+    private String name;
+
+    public BlockIdRow(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,89 @@
+package com.spring.datajpa.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.entity.Team;
+import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.repository.TeamRepository;
+import com.spring.datajpa.retry.ContentionStats;
+import com.spring.datajpa.retry.RetryingExecutor;
+import com.spring.datajpa.service.MemberTeamService;
+
+/**
+ * 여러 스레드가 소수의 팀(hot row)으로 회원을 옮길 때 초당 팀 변경 건수
+ * 낙관적 락 + 재시도(changeTeam) vs PESSIMISTIC_WRITE(changeTeamWithLock)
+ * hotTeams가 작을수록 같은 Team 행에 쓰기가 몰린다. 종료 시 충돌/재시도 통계를 출력한다.
+ * ./gradlew jmh -PjmhArgs="ContentionBenchmark -t 16 -p hotTeams=1"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ContentionBenchmark {
+
+    @Param({ "1", "10" })
+    private int hotTeams;
+
+    private ConfigurableApplicationContext context;
+    private MemberTeamService memberTeamService;
+    private long[] memberIds;
+    private long[] teamIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(10_000, "app.retry.max-attempts=50", "app.search.enabled=false");
+        memberTeamService = context.getBean(MemberTeamService.class);
+        memberIds = context.getBean(MemberRepository.class).findAll().stream().mapToLong(Member::getId).toArray();
+        List<Team> teams = context.getBean(TeamRepository.class).findAll();
+        teamIds = teams.stream().limit(hotTeams).mapToLong(Team::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ContentionStats stats = context.getBean(RetryingExecutor.class).getStats(MemberTeamService.CHANGE_TEAM);
+        System.out.printf("%n%s: calls=%d attempts=%d conflicts=%d (%.1f%%) exhausted=%d backoff=%.0fms%n",
+                MemberTeamService.CHANGE_TEAM, stats.getCalls(), stats.getAttempts(), stats.getConflicts(),
+                stats.getConflictRate() * 100, stats.getExhausted(), stats.getBackoffMillis());
+        context.close();
+    }
+
+    @Benchmark
+    public void optimisticRetry() {
+        memberTeamService.changeTeam(randomMember(), randomTeam());
+    }
+
+    @Benchmark
+    public void pessimisticWrite() {
+        memberTeamService.changeTeamWithLock(randomMember(), randomTeam());
+    }
+
+    private long randomMember() {
+        return memberIds[ThreadLocalRandom.current().nextInt(memberIds.length)];
+    }
+
+    private long randomTeam() {
+        return teamIds[ThreadLocalRandom.current().nextInt(teamIds.length)];
+    }
+}
@@ -0,0 +1,30 @@
+package com.spring.datajpa.benchmark;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * IdGeneratorBenchmark 비교용, Hibernate 기본 시퀀스 생성기 (pooled-lo)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DefaultIdRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "default_id_row_generator")
+    @SequenceGenerator(name = "default_id_row_generator", sequenceName = "default_id_row_seq", allocationSize = 1000)
+    private Long id;
+
+    private String name;
+
+    public DefaultIdRow(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,90 @@
+package com.spring.datajpa.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.repository.MemberRepository;
+
+/**
+ * findByNames에 1 ~ maxNames개 사이의 무작위 개수 이름을 넘길 때 (호출마다 다른 리스트 크기)
+ * - inClause: in 절, padding 파라미터로 in_clause_parameter_padding 사용 여부 비교
+ * - findByNames: NAME_CHUNK_SIZE개씩 나누어 in 절로 조회
+ * 종료 시 query plan cache hit/miss를 출력한다.
+ * ./gradlew jmh -PjmhArgs="InClauseBenchmark -p maxNames=1000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InClauseBenchmark {
+
+    @Param({ "16", "256", "2000" })
+    private int maxNames;
+
+    @Param({ "true", "false" })
+    private boolean padding;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate transactionTemplate;
+    private List<String> usernames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int members = 10_000;
+        context = BenchmarkContext.start(members, "spring.jpa.properties.hibernate.query.in_clause_parameter_padding=" + padding);
+        memberRepository = context.getBean(MemberRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        usernames = IntStream.range(0, members).mapToObj(i -> "user" + i).toList();
+        BenchmarkContext.statistics(context).clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Statistics statistics = BenchmarkContext.statistics(context);
+        System.out.printf("%nquery plan cache: hit=%d miss=%d%n",
+                statistics.getQueryPlanCacheHitCount(), statistics.getQueryPlanCacheMissCount());
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> inClause() {
+        List<String> names = randomNames();
+        return transactionTemplate.execute(status -> memberRepository.findByNameList(names, 1));
+    }
+
+    @Benchmark
+    public List<Member> findByNames() {
+        List<String> names = randomNames();
+        return transactionTemplate.execute(status -> memberRepository.findByNames(names, 1));
+    }
+
+    private List<String> randomNames() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int size = random.nextInt(1, maxNames + 1);
+        int from = random.nextInt(usernames.size() - size + 1);
+        return usernames.subList(from, from + size);
+    }
+}
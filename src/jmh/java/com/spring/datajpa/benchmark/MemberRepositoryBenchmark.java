@@ -0,0 +1,148 @@
+package com.spring.datajpa.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spring.datajpa.dto.MemberDto;
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.repository.MemberRepository;
+
+/**
+ * MemberRepository 주요 조회/변경 경로 벤치마크
+ * ./gradlew jmh -PjmhArgs="MemberRepositoryBenchmark -p members=100000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberRepositoryBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int members;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    // 전체 건수의 중간쯤 페이지를 조회한다.
+    private PageRequest pageRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(members);
+        memberRepository = context.getBean(MemberRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        statistics = BenchmarkContext.statistics(context);
+        pageRequest = PageRequest.of(members / 20 / 2, 20, Sort.by("age"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> derivedQuery(StatementCounter counter) {
+        counter.begin(statistics);
+        List<Member> result = memberRepository.findByUsernameAndAgeGreaterThan("user" + (members / 2), 10);
+        counter.end(statistics);
+        return result;
+    }
+
+    @Benchmark
+    public List<Member> queryAnnotation(StatementCounter counter) {
+        counter.begin(statistics);
+        List<Member> result = memberRepository.findUser("user" + (members / 2), (members / 2) % 100);
+        counter.end(statistics);
+        return result;
+    }
+
+    @Benchmark
+    public List<Member> namedQuery(StatementCounter counter) {
+        counter.begin(statistics);
+        List<Member> result = memberRepository.findByUsername("user" + (members / 2));
+        counter.end(statistics);
+        return result;
+    }
+
+    @Benchmark
+    public Page<Member> findPageBy(StatementCounter counter) {
+        counter.begin(statistics);
+        Page<Member> result = memberRepository.findPageBy(pageRequest);
+        counter.end(statistics);
+        return result;
+    }
+
+    @Benchmark
+    public Page<MemberDto> findMemberDtoPage(StatementCounter counter) {
+        counter.begin(statistics);
+        Page<MemberDto> result = memberRepository.findMemberDtoPage(pageRequest);
+        counter.end(statistics);
+        return result;
+    }
+
+    @Benchmark
+    public Slice<Member> findSliceByAge(StatementCounter counter) {
+        counter.begin(statistics);
+        Slice<Member> result = memberRepository.findSliceByAge(50, PageRequest.of(0, 20));
+        counter.end(statistics);
+        return result;
+    }
+
+    @Benchmark
+    public List<Member> findListByAge(StatementCounter counter) {
+        counter.begin(statistics);
+        List<Member> result = memberRepository.findListByAge(50, PageRequest.of(0, 20));
+        counter.end(statistics);
+        return result;
+    }
+
+    @Benchmark
+    public List<Member> findMemberFetchJoin(StatementCounter counter) {
+        counter.begin(statistics);
+        List<Member> result = memberRepository.findMemberFetchJoin();
+        counter.end(statistics);
+        return result;
+    }
+
+    @Benchmark
+    public List<Member> findAllEntityGraph(StatementCounter counter) {
+        counter.begin(statistics);
+        List<Member> result = memberRepository.findAll();
+        counter.end(statistics);
+        return result;
+    }
+
+    @Benchmark
+    public Integer bulkAgePlus(StatementCounter counter) {
+        counter.begin(statistics);
+        // 매번 age가 바뀌므로 조건은 상위 1% 정도로 좁게 잡는다.
+        Integer result = transactionTemplate.execute(status -> memberRepository.bulkAgePlus(99));
+        counter.end(statistics);
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+package com.spring.datajpa.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실행 중인 서버의 /members 처리량, 지연 시간(p50/p99) 측정
+ * 기본 모드와 virtual 프로필로 각각 서버를 띄우고 같은 조건으로 실행해서 비교한다.
+ *
+ * ./gradlew loadTest -PloadTestArgs="http://localhost:8080/members?page=3 200 30"
+ * (url, 동시 사용자 수, 측정 시간(초))
+ */
+public class MembersLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080/members?page=3";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+
+        // 워밍업 후 측정
+        run(client, request, concurrency, Math.max(seconds / 5, 1));
+        Result result = run(client, request, concurrency, seconds);
+
+        System.out.printf("url=%s concurrency=%d duration=%ds%n", url, concurrency, seconds);
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n",
+                result.count(), result.errors(), result.count() / (double) seconds);
+        System.out.printf("p50=%.2fms p99=%.2fms max=%.2fms%n",
+                result.percentile(50) / 1e6, result.percentile(99) / 1e6, result.percentile(100) / 1e6);
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, int seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int worker = i;
+            executor.execute(() -> {
+                long[] local = new long[1024];
+                int n = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (n == local.length) {
+                        local = Arrays.copyOf(local, n * 2);
+                    }
+                    local[n++] = System.nanoTime() - start;
+                }
+                latencies[worker] = local;
+                counts[worker] = n;
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < concurrency; i++) {
+            System.arraycopy(latencies[i], 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private record Result(long[] sortedLatencies, long errors) {
+        long count() {
+            return sortedLatencies.length;
+        }
+
+        long percentile(int p) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))];
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.spring.datajpa.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.service.MemberExportService;
+
+/**
+ * /members/dto(Page 조회 후 Jackson 직렬화)와 /members/stream(조회하면서 바로 쓰기) 비교
+ * 응답 바이트 수는 같고, -prof gc의 gc.alloc.rate.norm으로 요청당 할당량 차이를 본다.
+ * ./gradlew jmh -PjmhArgs="PageSerializationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({ "100", "2000" })
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private MemberExportService memberExportService;
+    private ObjectMapper objectMapper;
+    private PageRequest pageRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(10000);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberExportService = context.getBean(MemberExportService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        pageRequest = PageRequest.of(1, pageSize, Sort.by("age"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long pageThenSerialize() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, new PagedModel<>(memberRepository.findMemberDtoPage(pageRequest)));
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long streamingWrite() {
+        CountingOutputStream out = new CountingOutputStream();
+        memberExportService.writePage(pageRequest, out);
+        return out.bytes;
+    }
+
+    /**
+     * 네트워크 대신 바이트 수만 센다.
+     */
+    private static class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.spring.datajpa.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.repository.MemberRepository;
+
+/**
+ * 리포지토리 메트릭 수집 비용 (enabled=false 대비)
+ * 가장 가벼운 호출(findById, 1차 캐시 없이 PK 조회)에서 차이가 제일 크게 드러난다.
+ * ./gradlew jmh -PjmhArgs="RepositoryMetricsBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RepositoryMetricsBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean metrics;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private Long memberId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(1000, "app.metrics.repository.enabled=" + metrics);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberId = memberRepository.findByUsername("user500").get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Member> findById() {
+        return memberRepository.findById(memberId);
+    }
+
+    @Benchmark
+    public List<Member> derivedQuery() {
+        return memberRepository.findByUsernameAndAgeGreaterThan("user500", 10);
+    }
+}
@@ -0,0 +1,34 @@
+package com.spring.datajpa.benchmark;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 벤치마크 결과에 실행된 SQL 문장 수를 함께 출력한다. (Hibernate Statistics 기준)
+ * statements 값을 ops 결과와 나누면 호출당 문장 수가 된다.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class StatementCounter {
+
+    public long statements;
+
+    private long before;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        statements = 0;
+    }
+
+    void begin(Statistics statistics) {
+        before = statistics.getPrepareStatementCount();
+    }
+
+    void end(Statistics statistics) {
+        statements += statistics.getPrepareStatementCount() - before;
+    }
+}
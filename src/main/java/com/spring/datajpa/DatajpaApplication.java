@@ -1,24 +1,14 @@
 package com.spring.datajpa;
 
-import java.util.Optional;
-import java.util.UUID;
-
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
-@EnableJpaAuditing
+@EnableJpaAuditing(dateTimeProviderRef = "auditDateTimeProvider")
 @SpringBootApplication
 public class DatajpaApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(DatajpaApplication.class, args);
 	}
-
-	@Bean
-	public AuditorAware<String> auditorAware() {
-		return () -> Optional.of(UUID.randomUUID().toString());
-	}
 }
@@ -0,0 +1,8 @@
+package com.spring.datajpa.audit;
+
+public enum AuditTimestampSource {
+    /** 애플리케이션 서버 시계 */
+    JVM,
+    /** DB 시계 (트랜잭션마다 한 번 조회, 여러 서버의 시각을 DB 기준으로 맞출 때) */
+    DATABASE
+}
@@ -0,0 +1,45 @@
+package com.spring.datajpa.audit;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 등록일/수정일에 쓰는 현재 시각 (AuditConfig에서 빈으로 등록)
+ * sharedPerTransaction이면 트랜잭션에서 처음 조회한 시각을 커밋까지 재사용해서,
+ * 한 배치에서 저장한 엔티티가 모두 같은 시각을 갖고 엔티티마다 시계를 읽지 않는다.
+ * JpaBaseEntity는 JpaBaseEntityListener가 이 빈을 주입받아 사용한다.
+ */
+public class AuditTimestamps {
+
+    // 인스턴스(애플리케이션 컨텍스트)마다 다른 키를 써서 같은 JVM의 다른 컨텍스트와 섞이지 않는다.
+    private final Object resourceKey = new Object();
+
+    private final boolean sharedPerTransaction;
+    private final Supplier<LocalDateTime> clock;
+
+    public AuditTimestamps(boolean sharedPerTransaction, Supplier<LocalDateTime> clock) {
+        this.sharedPerTransaction = sharedPerTransaction;
+        this.clock = clock;
+    }
+
+    public LocalDateTime now() {
+        if (!sharedPerTransaction || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return clock.get();
+        }
+        LocalDateTime now = (LocalDateTime) TransactionSynchronizationManager.getResource(resourceKey);
+        if (now == null) {
+            now = clock.get();
+            TransactionSynchronizationManager.bindResource(resourceKey, now);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                }
+            });
+        }
+        return now;
+    }
+}
@@ -0,0 +1,53 @@
+package com.spring.datajpa.audit;
+
+import java.util.Optional;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 등록자/수정자를 요청 단위로 한 번만 조회한다.
+ * 웹 요청이 아니면 트랜잭션 단위로 캐시하고, 둘 다 없으면 매번 delegate를 호출한다.
+ */
+public class CachedAuditorAware implements AuditorAware<String> {
+
+    private static final String ATTRIBUTE = CachedAuditorAware.class.getName() + ".auditor";
+
+    private final AuditorAware<String> delegate;
+
+    public CachedAuditorAware(AuditorAware<String> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<String> getCurrentAuditor() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            Optional<String> auditor = (Optional<String>) request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (auditor == null) {
+                auditor = delegate.getCurrentAuditor();
+                request.setAttribute(ATTRIBUTE, auditor, RequestAttributes.SCOPE_REQUEST);
+            }
+            return auditor;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Optional<String> auditor = (Optional<String>) TransactionSynchronizationManager.getResource(this);
+            if (auditor == null) {
+                auditor = delegate.getCurrentAuditor();
+                TransactionSynchronizationManager.bindResource(this, auditor);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(CachedAuditorAware.this);
+                    }
+                });
+            }
+            return auditor;
+        }
+        return delegate.getCurrentAuditor();
+    }
+}
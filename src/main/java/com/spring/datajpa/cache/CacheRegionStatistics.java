@@ -0,0 +1,18 @@
+package com.spring.datajpa.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * region별 2차 캐시 통계
+ */
+@Getter
+@AllArgsConstructor
+public class CacheRegionStatistics {
+    private String regionName;
+    private int size;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long evictionCount;
+}
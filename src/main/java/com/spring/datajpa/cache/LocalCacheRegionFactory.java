@@ -0,0 +1,83 @@
+package com.spring.datajpa.cache;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * 외부 캐시 라이브러리 없이 동작하는 in-process 2차 캐시 RegionFactory
+ * 엔티티/쿼리 결과 region은 최대 건수와 TTL로 제한한다.
+ */
+public class LocalCacheRegionFactory extends RegionFactoryTemplate {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<String, LocalCacheStorageAccess> regions = new ConcurrentHashMap<>();
+
+    public LocalCacheRegionFactory(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = toNanosSaturated(ttl);
+    }
+
+    // Duration.toNanos()는 약 292년을 넘으면 ArithmeticException을 던지므로 최대값으로 고정한다.
+    private static long toNanosSaturated(Duration ttl) {
+        try {
+            return ttl.toNanos();
+        } catch (ArithmeticException e) {
+            return ttl.isNegative() ? 0 : Long.MAX_VALUE;
+        }
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(LocalCacheStorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+            DomainDataRegionBuildingContext buildingContext) {
+        return register(regionConfig.getRegionName(), maxEntries, ttlNanos);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+            SessionFactoryImplementor sessionFactory) {
+        return register(regionName, maxEntries, ttlNanos);
+    }
+
+    /**
+     * 테이블별 마지막 변경 시각(update timestamps)은 쿼리 캐시 무효화 기준이므로 제거/만료하지 않는다.
+     * bulk update(bulkAgePlus)가 실행되면 이 값이 갱신되어 해당 테이블을 조회한 쿼리 캐시가 무효화된다.
+     */
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+            SessionFactoryImplementor sessionFactory) {
+        return register(regionName, 0, 0);
+    }
+
+    private LocalCacheStorageAccess register(String regionName, int maxEntries, long ttlNanos) {
+        return regions.computeIfAbsent(regionName, name -> new LocalCacheStorageAccess(name, maxEntries, ttlNanos));
+    }
+
+    public List<CacheRegionStatistics> getStatistics() {
+        return regions.values().stream()
+                .map(LocalCacheStorageAccess::getStatistics)
+                .sorted(Comparator.comparing(CacheRegionStatistics::getRegionName))
+                .toList();
+    }
+}
@@ -0,0 +1,150 @@
+package com.spring.datajpa.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * 2차 캐시 region 하나의 저장소
+ * 최대 건수를 넘으면 가장 오래 사용하지 않은 항목부터(LRU), TTL이 지나면 조회 시점에 제거한다.
+ * 키 해시로 나눈 segment마다 따로 잠가서 region 전체를 하나의 락으로 막지 않는다.
+ * LRU와 최대 건수는 segment 단위로 적용된다.
+ */
+public class LocalCacheStorageAccess implements DomainDataStorageAccess {
+
+    private static final int MAX_SEGMENTS = 16;
+    // segment 하나가 최소로 가지는 건수, 작은 region은 segment 하나로 정확한 LRU를 유지한다.
+    private static final int MIN_ENTRIES_PER_SEGMENT = 64;
+
+    private final String regionName;
+    private final long ttlNanos;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxEntries 0 이하이면 건수 제한 없음
+     * @param ttlNanos 0 이하이면 만료 없음
+     */
+    public LocalCacheStorageAccess(String regionName, int maxEntries, long ttlNanos) {
+        this.regionName = regionName;
+        this.ttlNanos = ttlNanos;
+        int segmentCount = maxEntries > 0
+                ? Math.max(1, Math.min(MAX_SEGMENTS, maxEntries / MIN_ENTRIES_PER_SEGMENT))
+                : MAX_SEGMENTS;
+        int segmentCapacity = maxEntries > 0 ? (maxEntries + segmentCount - 1) / segmentCount : 0;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            CacheEntry entry = segment.entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (isExpired(entry, System.nanoTime())) {
+                segment.entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.entries.put(key, new CacheEntry(value, System.nanoTime()));
+        }
+        puts.increment();
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            CacheEntry entry = segment.entries.get(key);
+            return entry != null && !isExpired(entry, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void evictData() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+            }
+        }
+    }
+
+    @Override
+    public void evictData(Object key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.entries.remove(key);
+        }
+    }
+
+    @Override
+    public void release() {
+        evictData();
+    }
+
+    public CacheRegionStatistics getStatistics() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return new CacheRegionStatistics(regionName, size, hits.sum(), misses.sum(), puts.sum(), evictions.sum());
+    }
+
+    // 만료 시각(createdAt + ttl)을 더해두면 큰 TTL에서 overflow가 나므로 경과 시간으로 비교한다.
+    private boolean isExpired(CacheEntry entry, long now) {
+        return ttlNanos > 0 && now - entry.createdAt() >= ttlNanos;
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[(h & 0x7fffffff) % segments.length];
+    }
+
+    private final class Segment {
+
+        // accessOrder = true: 조회할 때마다 순서가 뒤로 가서 LRU로 동작한다.
+        private final Map<Object, CacheEntry> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, CacheEntry> eldest) {
+                    boolean evict = capacity > 0 && size() > capacity;
+                    if (evict) {
+                        evictions.increment();
+                    }
+                    return evict;
+                }
+            };
+        }
+    }
+
+    private record CacheEntry(Object value, long createdAt) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.spring.datajpa.config;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.spring.datajpa.audit.AuditTimestampSource;
+import com.spring.datajpa.audit.AuditTimestamps;
+import com.spring.datajpa.audit.CachedAuditorAware;
+
+/**
+ * 등록자/등록일 auditing 설정
+ * app.audit.high-throughput=true면 등록자는 요청(트랜잭션)마다, 시각은 트랜잭션마다 한 번만 구한다.
+ * false면 엔티티를 저장할 때마다 새로 구한다. (timestamp-source=DATABASE면 시각은 항상 트랜잭션마다 한 번)
+ */
+@Configuration
+public class AuditConfig {
+
+    @Value("${app.audit.high-throughput:false}")
+    private boolean highThroughput;
+
+    @Bean
+    public AuditorAware<String> auditorAware() {
+        AuditorAware<String> auditor = () -> Optional.of(UUID.randomUUID().toString());
+        return highThroughput ? new CachedAuditorAware(auditor) : auditor;
+    }
+
+    /**
+     * BaseEntity(DateTimeProvider)와 JpaBaseEntity(JpaBaseEntityListener)가 같이 사용한다.
+     */
+    @Bean
+    public AuditTimestamps auditTimestamps(DataSource dataSource,
+            @Value("${app.audit.timestamp-source:JVM}") AuditTimestampSource source) {
+        Supplier<LocalDateTime> clock = LocalDateTime::now;
+        if (source == AuditTimestampSource.DATABASE) {
+            // 트랜잭션 안에서는 JpaTransactionManager가 바인딩한 커넥션으로 조회된다.
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            clock = () -> jdbcTemplate.queryForObject("select localtimestamp", LocalDateTime.class);
+        }
+        // DB 시계는 조회마다 왕복이 생기므로 high-throughput이 아니어도 트랜잭션마다 한 번만 조회한다.
+        return new AuditTimestamps(highThroughput || source == AuditTimestampSource.DATABASE, clock);
+    }
+
+    @Bean
+    public DateTimeProvider auditDateTimeProvider(AuditTimestamps auditTimestamps) {
+        return () -> Optional.of(auditTimestamps.now());
+    }
+}
@@ -0,0 +1,37 @@
+package com.spring.datajpa.config;
+
+import java.time.Duration;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.spring.datajpa.cache.LocalCacheRegionFactory;
+
+/**
+ * 2차 캐시 / 쿼리 캐시 설정 (app.cache.enabled=true 일 때만 적용)
+ * 캐시 대상은 @Cache가 붙은 엔티티(Team)와 cacheable 힌트가 있는 쿼리로 한정된다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.cache", name = "enabled", havingValue = "true")
+public class CacheConfig {
+
+    @Bean
+    public LocalCacheRegionFactory localCacheRegionFactory(
+            @Value("${app.cache.max-entries:10000}") int maxEntries,
+            @Value("${app.cache.ttl:10m}") Duration ttl) {
+        return new LocalCacheRegionFactory(maxEntries, ttl);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(LocalCacheRegionFactory regionFactory) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+        };
+    }
+}
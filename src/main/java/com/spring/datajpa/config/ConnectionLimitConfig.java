@@ -0,0 +1,39 @@
+package com.spring.datajpa.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.spring.datajpa.datasource.ConnectionLimitingDataSource;
+
+/**
+ * app.datasource.connection-limit이 설정되면 DataSource를 ConnectionLimitingDataSource로 감싼다.
+ * JPA가 사용하는 dataSource 빈만 감싸고, replica 등 다른 DataSource 빈은 그대로 둔다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource", name = "connection-limit")
+public class ConnectionLimitConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        int limit = environment.getRequiredProperty("app.datasource.connection-limit", Integer.class);
+        Duration timeout = environment.getProperty("app.datasource.connection-acquire-timeout", Duration.class,
+                Duration.ofSeconds(30));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return new ConnectionLimitingDataSource(dataSource, limit, timeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package com.spring.datajpa.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * fast-startup 프로필에서 EntityManagerFactory를 백그라운드로 만드는 동안 나머지 시작 작업과 얼마나 겹쳤는지 기록한다.
+ * bootstrap executor를 감싸서 생성 시작/종료 시각과, 메인 스레드가 처음 EntityManagerFactory를 기다린 시점을 잰다.
+ * 빈을 만드는 중(생성자, @PostConstruct)에 기다렸다면 그 빈 때문에 생성이 다시 시작 경로에 올라온 것이므로 경고한다.
+ */
+@Slf4j
+public class EntityManagerFactoryBootstrapTimer implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final String BEAN_FACTORY = "org.springframework.beans.factory.support.AbstractAutowireCapableBeanFactory";
+
+    private final AtomicBoolean waited = new AtomicBoolean();
+
+    private volatile long submittedAt;
+    private volatile long builtAt;
+    private volatile long firstWaitAt;
+    private volatile long waitNanos;
+    private volatile String buildThread;
+    // 빈 생성 중에 기다린 경우 기다린 호출 위치 ("TotalCountResolver.<init>"), 아니면 null
+    private volatile String blockingCaller;
+
+    public AsyncTaskExecutor decorate(AsyncTaskExecutor executor) {
+        return new AsyncTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                executor.execute(task);
+            }
+
+            @Override
+            public <T> Future<T> submit(Callable<T> task) {
+                submittedAt = System.nanoTime();
+                return new TimedFuture<>(executor.submit(() -> {
+                    buildThread = Thread.currentThread().getName();
+                    try {
+                        return task.call();
+                    } finally {
+                        builtAt = System.nanoTime();
+                    }
+                }));
+            }
+        };
+    }
+
+    /**
+     * 생성 시작부터 메인 스레드가 기다리기 시작할 때까지(또는 생성이 끝날 때까지) 다른 시작 작업과 겹친 시간
+     */
+    public long getOverlapMillis() {
+        long end = builtAt;
+        if (firstWaitAt != 0 && (end == 0 || firstWaitAt < end)) {
+            end = firstWaitAt;
+        }
+        return end == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(end - submittedAt);
+    }
+
+    public long getBuildMillis() {
+        return builtAt == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(builtAt - submittedAt);
+    }
+
+    public long getWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+    }
+
+    public String getBuildThread() {
+        return buildThread;
+    }
+
+    public String getBlockingCaller() {
+        return blockingCaller;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (submittedAt == 0) {
+            return;
+        }
+        log.info("EntityManagerFactory built on {} in {}ms, overlapped {}ms with other startup work, main thread waited {}ms",
+                buildThread, getBuildMillis(), getOverlapMillis(), getWaitMillis());
+        if (blockingCaller != null) {
+            log.warn("{} waited for the EntityManagerFactory while beans were being created, background bootstrap did not overlap",
+                    blockingCaller);
+        }
+    }
+
+    private void beforeFirstWait() {
+        firstWaitAt = System.nanoTime();
+        StackWalker.getInstance().walk(frames -> {
+            String[] caller = new String[1];
+            boolean creatingBean = frames
+                    .peek(frame -> {
+                        if (caller[0] == null && frame.getClassName().startsWith("com.spring.datajpa.")
+                                && !frame.getClassName().startsWith(EntityManagerFactoryBootstrapTimer.class.getName())) {
+                            caller[0] = simpleName(frame.getClassName()) + "." + frame.getMethodName();
+                        }
+                    })
+                    .anyMatch(frame -> frame.getClassName().equals(BEAN_FACTORY) && frame.getMethodName().equals("doCreateBean"));
+            if (creatingBean) {
+                blockingCaller = caller[0] == null ? "a bean" : caller[0];
+            }
+            return null;
+        });
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * AbstractEntityManagerFactoryBean이 EntityManagerFactory가 필요할 때 get()을 호출한다.
+     */
+    private class TimedFuture<T> implements Future<T> {
+
+        private final Future<T> delegate;
+
+        TimedFuture(Future<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            // 이미 만들어졌어도 처음 필요해진 시점과 호출 위치는 기록한다.
+            if (!waited.compareAndSet(false, true)) {
+                return delegate.get();
+            }
+            beforeFirstWait();
+            long start = System.nanoTime();
+            try {
+                return delegate.get();
+            } finally {
+                waitNanos = System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.get(timeout, unit);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return delegate.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return delegate.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return delegate.isDone();
+        }
+    }
+}
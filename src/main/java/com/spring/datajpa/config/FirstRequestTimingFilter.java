@@ -0,0 +1,38 @@
+package com.spring.datajpa.config;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JVM 시작부터 첫 번째 요청의 응답을 마칠 때까지 걸린 시간(time-to-first-request)을 로그로 남긴다.
+ * 기본 프로필과 fast-startup 프로필(+ AOT, CDS)의 시작 시간을 같은 기준으로 비교하기 위해 사용한다.
+ * 첫 요청 이후에는 플래그 확인만 한다.
+ */
+@Slf4j
+public class FirstRequestTimingFilter extends OncePerRequestFilter {
+
+    private final AtomicBoolean served = new AtomicBoolean();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!served.get() && served.compareAndSet(false, true)) {
+                long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+                log.info("first request {} {} served {}ms after JVM start", request.getMethod(), request.getRequestURI(),
+                        System.currentTimeMillis() - jvmStart);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.spring.datajpa.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.spring.datajpa.metrics.RepositoryMetrics;
+
+/**
+ * 리포지토리 메서드 / Hibernate Statistics 메트릭 (/internal/metrics)
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.metrics.repository", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RepositoryMetrics repositoryMetrics() {
+        return new RepositoryMetrics();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatisticsCustomizer(
+            @Value("${app.metrics.hibernate-statistics:false}") boolean enabled) {
+        return properties -> properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, enabled);
+    }
+}
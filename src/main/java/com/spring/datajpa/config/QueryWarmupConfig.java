@@ -0,0 +1,25 @@
+package com.spring.datajpa.config;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.spring.datajpa.repository.warmup.QueryWarmup;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * 시작 시점 쿼리 warm-up (첫 요청에서 HQL 파싱/SQL 변환 비용을 치르지 않도록)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.query-warmup", name = "enabled", havingValue = "true")
+public class QueryWarmupConfig {
+
+    @Bean
+    public QueryWarmup queryWarmup(ListableBeanFactory beanFactory, EntityManager em,
+            PlatformTransactionManager transactionManager) {
+        return new QueryWarmup(beanFactory, em, transactionManager);
+    }
+}
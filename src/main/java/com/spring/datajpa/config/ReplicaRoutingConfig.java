@@ -0,0 +1,61 @@
+package com.spring.datajpa.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.spring.datajpa.datasource.ReadWriteRoutingDataSource;
+import com.spring.datajpa.datasource.Replica;
+import com.spring.datajpa.datasource.ReplicaPool;
+import com.spring.datajpa.datasource.ReplicaSelection;
+
+/**
+ * app.datasource.replicas가 설정되면 읽기 전용 트랜잭션을 replica로 보낸다.
+ * 기존 DataSource(primary)를 ReadWriteRoutingDataSource로 감싸므로 JPA 설정은 그대로다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource", name = "replicas[0].url")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaPool replicaPool(Environment environment) {
+        Binder binder = Binder.get(environment);
+        List<DataSourceProperties> properties = binder
+                .bind("app.datasource.replicas", Bindable.listOf(DataSourceProperties.class))
+                .orElse(List.of());
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.size(); i++) {
+            replicas.add(new Replica("replica-" + i, properties.get(i).initializeDataSourceBuilder().build()));
+        }
+        return new ReplicaPool(replicas,
+                environment.getProperty("app.datasource.routing.selection", ReplicaSelection.class, ReplicaSelection.ROUND_ROBIN),
+                environment.getProperty("app.datasource.routing.max-lag", Duration.class, Duration.ofSeconds(5)),
+                environment.getProperty("app.datasource.routing.check-interval", Duration.class, Duration.ofSeconds(1)));
+    }
+
+    @Bean
+    public static BeanPostProcessor readWriteRoutingDataSourcePostProcessor(ObjectProvider<ReplicaPool> replicaPool) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ReadWriteRoutingDataSource)) {
+                    return new ReadWriteRoutingDataSource(dataSource, replicaPool.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.spring.datajpa.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.repository.TeamRepository;
+import com.spring.datajpa.search.SearchIndexer;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * username, team name 접두어/포함/오타 검색 (/members/search, /teams/search)
+ * 시작이 끝나면 applicationTaskExecutor에서 DB 전체로 색인을 만든다. (그 전에 커밋된 변경은 이벤트로 반영된다.)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.search", name = "enabled", havingValue = "true")
+public class SearchConfig {
+
+    @Value("${app.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Bean
+    public SearchIndexer searchIndexer(EntityManagerFactory entityManagerFactory, MemberRepository memberRepository,
+            TeamRepository teamRepository, PlatformTransactionManager transactionManager) {
+        return new SearchIndexer(entityManagerFactory, memberRepository, teamRepository, transactionManager);
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> searchIndexRebuildListener(SearchIndexer searchIndexer,
+            @Qualifier("applicationTaskExecutor") ObjectProvider<AsyncTaskExecutor> applicationTaskExecutor) {
+        return event -> {
+            if (!rebuildOnStartup) {
+                return;
+            }
+            Runnable rebuild = () -> {
+                try {
+                    searchIndexer.rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("search index rebuild failed", e);
+                }
+            };
+            AsyncTaskExecutor executor = applicationTaskExecutor.getIfAvailable();
+            if (executor == null) {
+                rebuild.run();
+            } else {
+                executor.execute(rebuild);
+            }
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.spring.datajpa.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.spring.datajpa.sql.SlowQueryBuffer;
+import com.spring.datajpa.sql.SlowQueryListener;
+
+/**
+ * slow query 기록 (/internal/slow-queries)
+ * p6spy 데코레이터가 컨텍스트의 JdbcEventListener 빈을 모든 커넥션에 등록한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.slow-query", name = "enabled", havingValue = "true")
+public class SlowQueryConfig {
+
+    @Bean
+    public SlowQueryBuffer slowQueryBuffer(@Value("${app.slow-query.capacity:200}") int capacity) {
+        return new SlowQueryBuffer(capacity);
+    }
+
+    @Bean
+    public SlowQueryListener slowQueryListener(SlowQueryBuffer slowQueryBuffer, ObjectProvider<DataSource> dataSource,
+            @Value("${app.slow-query.threshold:200ms}") Duration threshold,
+            @Value("${app.slow-query.sample-rate:1.0}") double sampleRate,
+            @Value("${app.slow-query.redact-binds:true}") boolean redactBinds,
+            @Value("${app.slow-query.explain:true}") boolean explain) {
+        return new SlowQueryListener(threshold.toNanos(), sampleRate, redactBinds, explain, slowQueryBuffer, dataSource);
+    }
+}
@@ -0,0 +1,41 @@
+package com.spring.datajpa.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.spring.datajpa.sql.BudgetMode;
+import com.spring.datajpa.sql.SqlStatementTracker;
+import com.spring.datajpa.sql.StatementBudgetFilter;
+
+/**
+ * 요청/트랜잭션별 SQL 실행 건수 예산과 N+1 감지
+ */
+@Configuration
+public class SqlStatementConfig {
+
+    @Value("${app.sql.budget.max-repeats:10}")
+    private int maxRepeats;
+
+    @Value("${app.sql.budget.mode:LOG}")
+    private BudgetMode mode;
+
+    @Bean
+    public SqlStatementTracker sqlStatementTracker(@Value("${app.sql.budget.per-transaction:0}") int perTransaction) {
+        return new SqlStatementTracker(perTransaction, maxRepeats, mode);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(SqlStatementTracker tracker) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, tracker);
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(
+            @Value("${app.sql.budget.per-request:0}") int perRequest) {
+        return new FilterRegistrationBean<>(new StatementBudgetFilter(perRequest, maxRepeats, mode));
+    }
+}
@@ -0,0 +1,66 @@
+package com.spring.datajpa.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.repository.config.BootstrapMode;
+
+import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.repository.count.CountingJpaRepositoryFactoryBean;
+
+/**
+ * 리포지토리 초기화 방식과 시작 시간 측정
+ *
+ * fast-startup 프로필 (application-fast-startup.yml)
+ * - EntityManagerFactory를 applicationTaskExecutor에서 백그라운드로 만들고,
+ *   그동안 나머지 빈(웹 서버, 컨트롤러 등)을 초기화한다.
+ *   빈 생성자/@PostConstruct에서 SessionFactory를 꺼내면 생성이 끝날 때까지 기다리게 되므로,
+ *   Hibernate 리스너 등록은 SmartInitializingSingleton에서 한다. (겹친 시간은 EntityManagerFactoryBootstrapTimer 로그)
+ * - 리포지토리는 DEFERRED 모드로 컨텍스트 refresh가 끝날 때 한꺼번에 초기화한다.
+ *   (@EnableJpaRepositories를 직접 선언했으므로 spring.data.jpa.repositories.bootstrap-mode 설정은 적용되지 않는다.)
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public FilterRegistrationBean<FirstRequestTimingFilter> firstRequestTimingFilter() {
+        FilterRegistrationBean<FirstRequestTimingFilter> registration = new FilterRegistrationBean<>(new FirstRequestTimingFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Configuration
+    @Profile("!fast-startup")
+    @EnableJpaRepositories(basePackageClasses = MemberRepository.class,
+            repositoryFactoryBeanClass = CountingJpaRepositoryFactoryBean.class)
+    static class DefaultRepositoryBootstrap {
+    }
+
+    @Configuration
+    @Profile("fast-startup")
+    @EnableJpaRepositories(basePackageClasses = MemberRepository.class,
+            repositoryFactoryBeanClass = CountingJpaRepositoryFactoryBean.class,
+            bootstrapMode = BootstrapMode.DEFERRED)
+    static class DeferredRepositoryBootstrap {
+
+        @Bean
+        public EntityManagerFactoryBootstrapTimer entityManagerFactoryBootstrapTimer() {
+            return new EntityManagerFactoryBootstrapTimer();
+        }
+
+        @Bean
+        public EntityManagerFactoryBuilderCustomizer entityManagerFactoryBootstrapExecutorCustomizer(
+                @Qualifier("applicationTaskExecutor") ObjectProvider<AsyncTaskExecutor> applicationTaskExecutor,
+                EntityManagerFactoryBootstrapTimer bootstrapTimer) {
+            return builder -> applicationTaskExecutor
+                    .ifAvailable(executor -> builder.setBootstrapExecutor(bootstrapTimer.decorate(executor)));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.spring.datajpa.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * virtual 프로필 (Java 21 이상)
+ * 요청 처리(Tomcat)와 applicationTaskExecutor 작업을 가상 스레드로 실행한다. (spring.threads.virtual.enabled, application-virtual.yml)
+ * 비동기 리포지토리 조회(AsyncQueryExecutor)도 전용 풀 대신 applicationTaskExecutor에서 실행된다.
+ */
+@Configuration
+@Profile("virtual")
+public class VirtualThreadConfig {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
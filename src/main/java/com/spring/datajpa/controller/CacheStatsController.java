@@ -0,0 +1,28 @@
+package com.spring.datajpa.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.spring.datajpa.cache.CacheRegionStatistics;
+import com.spring.datajpa.cache.LocalCacheRegionFactory;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final ObjectProvider<LocalCacheRegionFactory> regionFactory;
+
+    /**
+     * region별 hit/miss/put/eviction 건수, 캐시가 꺼져 있으면 빈 목록
+     */
+    @GetMapping("/internal/cache-stats")
+    public List<CacheRegionStatistics> cacheStats() {
+        LocalCacheRegionFactory factory = regionFactory.getIfAvailable();
+        return factory == null ? List.of() : factory.getStatistics();
+    }
+}
@@ -1,23 +1,49 @@
 package com.spring.datajpa.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.boot.autoconfigure.data.web.SpringDataWebProperties;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.spring.datajpa.dto.CursorResponse;
+import com.spring.datajpa.dto.MemberCursor;
 import com.spring.datajpa.dto.MemberDto;
+import com.spring.datajpa.dto.MemberSummary;
 import com.spring.datajpa.entity.Member;
 import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.repository.async.BlockingSubscriber;
+import com.spring.datajpa.repository.async.MemberAsyncRepository;
+import com.spring.datajpa.service.MemberExportService;
 
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    // /members/export/async 한 번에 요청하는 행 수 (응답에 쓰기 전 메모리에 두는 최대 건수)
+    private static final int EXPORT_BATCH = 256;
+
     private final MemberRepository memberRepository;
+    private final MemberExportService memberExportService;
+    private final MemberAsyncRepository memberAsyncRepository;
+    private final SpringDataWebProperties springDataWebProperties;
 
     /**
      * ?page=0&size=7&sort=id,desc&sort=name,desc
@@ -37,11 +63,116 @@ public class MemberController {
         return map;
     }
 
-    @PostConstruct
-    public void init() {
-        for (int i = 0; i < 40; i++) {
-            memberRepository.save(new Member("user" + i, i, null));
+    /**
+     * /members와 같은 파라미터, 엔티티 대신 DTO로 바로 조회해서 teamName까지 채워서 응답한다.
+     */
+    @GetMapping("/members/dto")
+    public Page<MemberDto> membersDto(@PageableDefault(size = 5, sort = "age") Pageable pageable) {
+        return memberRepository.findMemberDtoPage(pageable);
+    }
+
+    /**
+     * /members/dto와 같은 파라미터, 페이지 크기가 클 때 사용
+     * 응답은 PagedModel 모양({"content":[...],"page":{...}})이다.
+     * 조회한 행을 JsonGenerator로 바로 응답에 쓰고 page 정보(건수)는 마지막에 쓴다.
+     */
+    @GetMapping("/members/stream")
+    public ResponseEntity<StreamingResponseBody> membersStream(@PageableDefault(size = 5, sort = "age") Pageable pageable) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> memberExportService.writePage(pageable, out));
+    }
+
+    /**
+     * ?cursor=...&size=5
+     * cursor: 이전 응답의 nextCursor, 없으면 첫 페이지 (잘못된 토큰이면 400)
+     * size: 한 번에 조회할 데이터 건수, 1 이상 (spring.data.web.pageable.max-page-size를 넘으면 최대값으로 조회)
+     * 
+     * (age, id) 순으로 정렬해서 keyset 방식으로 조회한다. offset, count 쿼리가 없어서 뒤 페이지로 가도 느려지지 않는다.
+     */
+    @GetMapping("/members/cursor")
+    public CursorResponse<MemberDto> membersByCursor(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size) {
+        if (size <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size는 1 이상이어야 합니다.");
+        }
+        KeysetScrollPosition position;
+        try {
+            position = MemberCursor.toPosition(cursor);
+        } catch (IllegalArgumentException e) { // 변조되었거나 잘린 토큰
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        // Pageable 파라미터와 같은 최대 크기를 적용한다.
+        int limit = Math.min(size, springDataWebProperties.getPageable().getMaxPageSize());
+        Window<Member> window = memberRepository.findWindowByOrderByAgeAscIdAsc(position, Limit.of(limit));
+
+        List<MemberDto> content = window.map(member -> new MemberDto(member.getId(), member.getUsername(), ""))
+                .getContent();
+        String nextCursor = window.hasNext() ? MemberCursor.of(window.getContent().get(window.size() - 1)).encode() : null;
+        return new CursorResponse<>(content, nextCursor, window.hasNext());
+    }
+
+    /**
+     * ?format=ndjson|csv
+     * 전체 회원을 조회하면서 바로 응답에 쓴다. (건수와 상관없이 메모리 사용량 일정)
+     */
+    @GetMapping("/members/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .body(memberExportService::writeCsv);
         }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(memberExportService::writeNdjson);
     }
 
+    /**
+     * ?age=10&page=0&size=5&parallel=true|false
+     * findMemberDto, findUsernameList, findPageByAge를 동시에 실행해서(parallel=false면 차례로) 하나로 응답한다.
+     * 조회 시간은 Server-Timing 헤더(db;dur=ms)로 내려준다.
+     * 비교: ./gradlew loadTest -PloadTestArgs="http://localhost:8080/members/summary?parallel=true 50 30"
+     */
+    @GetMapping("/members/summary")
+    public CompletableFuture<ResponseEntity<MemberSummary>> summary(@RequestParam(defaultValue = "10") int age,
+            @PageableDefault(size = 5) Pageable pageable, @RequestParam(defaultValue = "true") boolean parallel) {
+        long start = System.nanoTime();
+        CompletableFuture<MemberSummary> summary;
+        if (parallel) {
+            CompletableFuture<List<MemberDto>> members = memberAsyncRepository.findMemberDto();
+            CompletableFuture<List<String>> usernames = memberAsyncRepository.findUsernameList();
+            CompletableFuture<Page<Member>> byAge = memberAsyncRepository.findPageByAge(age, pageable);
+            summary = CompletableFuture.allOf(members, usernames, byAge)
+                    .thenApply(done -> toSummary(members.join(), usernames.join(), byAge.join()));
+        } else {
+            summary = CompletableFuture.completedFuture(toSummary(memberRepository.findMemberDto(),
+                    memberRepository.findUsernameList(), memberRepository.findPageByAge(age, pageable)));
+        }
+        return summary.thenApply(body -> ResponseEntity.ok()
+                .header("Server-Timing", "db;dur=" + (System.nanoTime() - start) / 1_000_000)
+                .body(body));
+    }
+
+    private static MemberSummary toSummary(List<MemberDto> members, List<String> usernames, Page<Member> byAge) {
+        // findPageByAge는 team을 조회하지 않으므로 teamName은 비워 둔다. (지연 로딩 불가)
+        Page<MemberDto> page = byAge.map(member -> new MemberDto(member.getId(), member.getUsername(), null));
+        return new MemberSummary(members, usernames, new PagedModel<>(page));
+    }
+
+    /**
+     * /members/export?format=ndjson과 같은 내용, 조회는 JDBC 풀에서 하고 응답에 쓴 만큼만 다음 행을 요청한다.
+     * 응답 쓰기는 StreamingResponseBody 스레드에서 하고, 조회 대기열이 가득 차면 바로 실패한다.
+     */
+    @GetMapping("/members/export/async")
+    public ResponseEntity<StreamingResponseBody> exportAsync() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> {
+                    try (BlockingSubscriber<MemberDto> members = new BlockingSubscriber<>(EXPORT_BATCH)) {
+                        memberAsyncRepository.streamMemberDto().subscribe(members);
+                        memberExportService.writeNdjson(members, out);
+                    }
+                });
+    }
 }
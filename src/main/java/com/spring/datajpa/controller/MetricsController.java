@@ -0,0 +1,126 @@
+package com.spring.datajpa.controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.spring.datajpa.metrics.JpaMetricsReader;
+import com.spring.datajpa.metrics.RepositoryMethodStats;
+import com.spring.datajpa.metrics.RepositoryMetrics;
+import com.spring.datajpa.retry.ContentionStats;
+import com.spring.datajpa.retry.RetryingExecutor;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final ObjectProvider<RepositoryMetrics> repositoryMetrics;
+    private final JpaMetricsReader jpaMetricsReader;
+    private final RetryingExecutor retryingExecutor;
+
+    /**
+     * 리포지토리 메서드별 통계(총 실행 시간 순), Hibernate Statistics, 커넥션 풀 상태, 쓰기 충돌/재시도
+     */
+    @GetMapping("/internal/metrics")
+    public Map<String, Object> metrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("repositories", methodStats());
+        result.put("hibernate", jpaMetricsReader.hibernate());
+        result.put("slowestQuery", jpaMetricsReader.slowestQuery());
+        result.put("pool", jpaMetricsReader.pool());
+        result.put("contention", retryingExecutor.getStats());
+        return result;
+    }
+
+    /**
+     * 같은 값을 Prometheus text 형식으로 내려준다. (scrape 대상)
+     * 한 metric의 샘플은 # HELP, # TYPE 바로 아래에 모여 있어야 하므로 metric별로 출력한다.
+     */
+    @GetMapping(value = "/internal/metrics/prometheus", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String prometheus() {
+        StringBuilder out = new StringBuilder();
+        List<RepositoryMethodStats> methods = methodStats();
+        Function<RepositoryMethodStats, String> methodLabels = stats -> labels(
+                "repository", stats.getRepository(), "method", stats.getMethod(),
+                "signature", stats.getSignature(), "kind", stats.getQueryKind().name());
+        family(out, "repository_calls_total", "counter", "Repository method calls.",
+                methods, methodLabels, RepositoryMethodStats::getCount);
+        family(out, "repository_errors_total", "counter", "Repository method calls that threw.",
+                methods, methodLabels, RepositoryMethodStats::getErrors);
+        family(out, "repository_seconds_sum", "counter", "Total repository method time in seconds.",
+                methods, methodLabels, stats -> stats.getTotalMillis() / 1000);
+        family(out, "repository_seconds_max", "gauge", "Slowest repository method call in seconds.",
+                methods, methodLabels, stats -> stats.getMaxMillis() / 1000);
+        family(out, "repository_rows_total", "counter", "Rows returned or updated by repository methods.",
+                methods, methodLabels, RepositoryMethodStats::getRows);
+        family(out, "repository_statements_total", "counter", "SQL statements executed by repository methods.",
+                methods, methodLabels, RepositoryMethodStats::getStatements);
+
+        List<ContentionStats> retries = retryingExecutor.getStats();
+        Function<ContentionStats, String> retryLabels = stats -> labels("operation", stats.getOperation());
+        family(out, "retry_calls_total", "counter", "Retried operation calls.",
+                retries, retryLabels, ContentionStats::getCalls);
+        family(out, "retry_attempts_total", "counter", "Attempts including retries.",
+                retries, retryLabels, ContentionStats::getAttempts);
+        family(out, "retry_conflicts_total", "counter", "Write conflicts that caused a retry.",
+                retries, retryLabels, ContentionStats::getConflicts);
+        family(out, "retry_exhausted_total", "counter", "Calls that gave up after the last attempt.",
+                retries, retryLabels, ContentionStats::getExhausted);
+        family(out, "retry_backoff_seconds_sum", "counter", "Total backoff time in seconds.",
+                retries, retryLabels, stats -> stats.getBackoffMillis() / 1000);
+
+        // Statistics.clear()로 초기화될 수 있으므로 counter가 아닌 gauge로 내보낸다.
+        jpaMetricsReader.hibernate().forEach((name, value) -> family(out, "hibernate_" + name, "gauge",
+                "Hibernate statistics " + name + ".", List.of(value), v -> "", v -> v));
+        family(out, "datasource_connections", "gauge", "Connection pool state.",
+                List.copyOf(jpaMetricsReader.pool().entrySet()), entry -> labels("state", entry.getKey()),
+                Map.Entry::getValue);
+        return out.toString();
+    }
+
+    private static <T> void family(StringBuilder out, String name, String type, String help, List<T> samples,
+            Function<T, String> labels, Function<T, Number> value) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        for (T sample : samples) {
+            out.append(name).append(labels.apply(sample)).append(' ').append(value.apply(sample)).append('\n');
+        }
+    }
+
+    /**
+     * {name="value",...}, 값의 역슬래시, 큰따옴표, 줄바꿈은 text 형식 규칙대로 escape 한다.
+     */
+    private static String labels(String... namesAndValues) {
+        StringBuilder labels = new StringBuilder("{");
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(namesAndValues[i]).append("=\"").append(escape(namesAndValues[i + 1])).append('"');
+        }
+        return labels.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private List<RepositoryMethodStats> methodStats() {
+        RepositoryMetrics metrics = repositoryMetrics.getIfAvailable();
+        return metrics == null ? List.of() : metrics.getMethodStats();
+    }
+}
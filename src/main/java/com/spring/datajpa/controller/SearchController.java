@@ -0,0 +1,55 @@
+package com.spring.datajpa.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.spring.datajpa.search.SearchIndex;
+import com.spring.datajpa.search.SearchIndexer;
+import com.spring.datajpa.search.SearchMode;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final ObjectProvider<SearchIndexer> searchIndexer;
+
+    /**
+     * ?q=user1&mode=PREFIX|CONTAINS|FUZZY&page=0&size=20
+     * 메모리 색인에서 찾은 회원 id (전체 건수 없이 다음 페이지 여부만), 검색이 꺼져 있으면 빈 결과
+     * CONTAINS, FUZZY는 검색어가 3자 이상이어야 한다. (400)
+     */
+    @GetMapping("/members/search")
+    public Slice<Long> searchMembers(@RequestParam String q, @RequestParam(defaultValue = "PREFIX") SearchMode mode,
+            @PageableDefault(size = 20) Pageable pageable) {
+        checkQuery(q, mode);
+        SearchIndexer indexer = searchIndexer.getIfAvailable();
+        return indexer == null ? new SliceImpl<>(List.of(), pageable, false) : indexer.searchMembers(q, mode, pageable);
+    }
+
+    @GetMapping("/teams/search")
+    public Slice<Long> searchTeams(@RequestParam String q, @RequestParam(defaultValue = "PREFIX") SearchMode mode,
+            @PageableDefault(size = 20) Pageable pageable) {
+        checkQuery(q, mode);
+        SearchIndexer indexer = searchIndexer.getIfAvailable();
+        return indexer == null ? new SliceImpl<>(List.of(), pageable, false) : indexer.searchTeams(q, mode, pageable);
+    }
+
+    private static void checkQuery(String q, SearchMode mode) {
+        if (mode != SearchMode.PREFIX && q.strip().length() < SearchIndex.MIN_QUERY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    mode + " 검색어는 " + SearchIndex.MIN_QUERY_LENGTH + "자 이상이어야 합니다.");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.spring.datajpa.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.spring.datajpa.sql.SlowQuery;
+import com.spring.datajpa.sql.SlowQueryBuffer;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+public class SlowQueryController {
+
+    private final ObjectProvider<SlowQueryBuffer> slowQueryBuffer;
+
+    /**
+     * 최근 slow query (최신 순), 기록이 꺼져 있으면 빈 목록
+     */
+    @GetMapping("/internal/slow-queries")
+    public List<SlowQuery> slowQueries() {
+        SlowQueryBuffer buffer = slowQueryBuffer.getIfAvailable();
+        return buffer == null ? List.of() : buffer.recent();
+    }
+}
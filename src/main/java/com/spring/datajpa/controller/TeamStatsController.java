@@ -0,0 +1,33 @@
+package com.spring.datajpa.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.spring.datajpa.repository.TeamStatsRepository;
+import com.spring.datajpa.stats.TeamStats;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamStatsController {
+
+    private final TeamStatsRepository teamStatsRepository;
+
+    /**
+     * 팀별 회원 수, 나이 합계/평균/최소/최대, 나이 구간별 회원 수 (DB 조회 없음)
+     */
+    @GetMapping("/teams/stats")
+    public List<TeamStats> teamStats() {
+        return teamStatsRepository.findAll();
+    }
+
+    @GetMapping("/teams/{teamId}/stats")
+    public ResponseEntity<TeamStats> teamStats(@PathVariable Long teamId) {
+        return ResponseEntity.of(teamStatsRepository.findById(teamId));
+    }
+}
@@ -0,0 +1,33 @@
+package com.spring.datajpa.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 replica로, 나머지는 primary로 보낸다.
+ * 트랜잭션 매니저가 readOnly를 설정한 뒤 첫 SQL을 실행할 때 실제 커넥션을 얻으므로,
+ * Connection.setReadOnly(true) 여부로 어느 쪽 커넥션을 쓸지 정할 수 있다.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+        super(primary);
+        replicaPool.attach(primary);
+        setReadOnlyDataSource(new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return replicaPool.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return replicaPool.getConnection();
+            }
+        });
+    }
+}
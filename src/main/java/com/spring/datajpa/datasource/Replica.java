@@ -0,0 +1,38 @@
+package com.spring.datajpa.datasource;
+
+import javax.sql.DataSource;
+
+import lombok.Getter;
+
+/**
+ * replica 하나의 상태 (ReplicaPool이 주기적으로 갱신)
+ */
+@Getter
+public class Replica {
+
+    // 최근 값의 비중
+    private static final double ALPHA = 0.2;
+
+    private final String name;
+    private final DataSource dataSource;
+
+    private volatile boolean available = true;
+    private volatile long lagMillis;
+    private volatile double latencyMicros;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    void recordLatency(long nanos) {
+        double micros = nanos / 1000.0;
+        double previous = latencyMicros;
+        latencyMicros = previous == 0 ? micros : previous + ALPHA * (micros - previous);
+    }
+
+    void changeState(boolean available, long lagMillis) {
+        this.available = available;
+        this.lagMillis = lagMillis;
+    }
+}
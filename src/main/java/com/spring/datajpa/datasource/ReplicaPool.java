@@ -0,0 +1,185 @@
+package com.spring.datajpa.datasource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 읽기 전용 커넥션을 줄 replica를 고른다.
+ * primary에 heartbeat 시각을 주기적으로 쓰고, replica에 복제된 시각과 비교해서 지연이 maxLag를 넘거나
+ * 조회에 실패한 replica는 제외한다. 쓸 수 있는 replica가 없으면 primary 커넥션을 준다.
+ */
+@Slf4j
+public class ReplicaPool implements AutoCloseable {
+
+    static final String HEARTBEAT_TABLE = "replication_heartbeat";
+
+    @Getter
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+
+    private volatile DataSource primary;
+    // heartbeat 테이블은 primary마다 처음 한 번만 만든다. (만들지 못했으면 다음 heartbeat에서 다시 시도)
+    private volatile boolean heartbeatTableCreated;
+
+    /**
+     * @param checkInterval 0이면 주기적으로 확인하지 않는다. (heartbeat(), checkReplicas()를 직접 호출)
+     */
+    public ReplicaPool(List<Replica> replicas, ReplicaSelection selection, Duration maxLag, Duration checkInterval) {
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.maxLagMillis = maxLag.toMillis();
+        if (checkInterval.isZero()) {
+            this.scheduler = null;
+        } else {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::checkSafely, checkInterval.toMillis(), checkInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * heartbeat를 쓸 primary, replica를 쓸 수 없을 때 대신 사용한다.
+     */
+    public void attach(DataSource primary) {
+        this.primary = primary;
+        this.heartbeatTableCreated = false;
+    }
+
+    public Connection getConnection() throws SQLException {
+        Replica replica = select();
+        if (replica != null) {
+            long start = System.nanoTime();
+            try {
+                Connection connection = replica.getDataSource().getConnection();
+                replica.recordLatency(System.nanoTime() - start);
+                return connection;
+            } catch (SQLException e) {
+                log.warn("replica {} 커넥션 실패, primary를 사용합니다.", replica.getName(), e);
+                replica.changeState(false, replica.getLagMillis());
+            }
+        }
+        return primary().getConnection();
+    }
+
+    Replica select() {
+        int size = replicas.size();
+        if (selection == ReplicaSelection.LEAST_LATENCY) {
+            Replica best = null;
+            for (Replica replica : replicas) {
+                if (replica.isAvailable() && (best == null || replica.getLatencyMicros() < best.getLatencyMicros())) {
+                    best = replica;
+                }
+            }
+            return best;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isAvailable()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * primary에 현재 시각을 쓴다. (첫 heartbeat에서 테이블이 없으면 만든다.)
+     */
+    public void heartbeat() throws SQLException {
+        try (Connection connection = primary().getConnection()) {
+            connection.setAutoCommit(true);
+            if (!heartbeatTableCreated) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("create table if not exists " + HEARTBEAT_TABLE
+                            + " (id int primary key, beat_at bigint not null)");
+                }
+                heartbeatTableCreated = true;
+            }
+            try (PreparedStatement update = connection.prepareStatement(
+                    "update " + HEARTBEAT_TABLE + " set beat_at = ? where id = 1")) {
+                update.setLong(1, System.currentTimeMillis());
+                if (update.executeUpdate() == 0) {
+                    try (PreparedStatement insert = connection.prepareStatement(
+                            "insert into " + HEARTBEAT_TABLE + " (id, beat_at) values (1, ?)")) {
+                        insert.setLong(1, System.currentTimeMillis());
+                        insert.executeUpdate();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * replica마다 복제된 heartbeat 시각으로 지연을 계산하고, 조회 시간을 응답 시간에 반영한다.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            long start = System.nanoTime();
+            try (Connection connection = replica.getDataSource().getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet resultSet = statement.executeQuery(
+                            "select beat_at from " + HEARTBEAT_TABLE + " where id = 1")) {
+                replica.recordLatency(System.nanoTime() - start);
+                long lag = resultSet.next() ? Math.max(0, System.currentTimeMillis() - resultSet.getLong(1)) : Long.MAX_VALUE;
+                boolean available = lag <= maxLagMillis;
+                if (replica.isAvailable() && !available) {
+                    log.warn("replica {} 복제 지연 {}ms, primary로 대신 조회합니다.", replica.getName(), lag);
+                }
+                replica.changeState(available, lag);
+            } catch (SQLException e) {
+                log.warn("replica {} 상태 확인 실패: {}", replica.getName(), e.getMessage());
+                replica.changeState(false, replica.getLagMillis());
+            }
+        }
+    }
+
+    private void checkSafely() {
+        try {
+            heartbeat();
+        } catch (SQLException | RuntimeException e) {
+            log.warn("heartbeat 기록 실패: {}", e.getMessage());
+        }
+        checkReplicas();
+    }
+
+    private DataSource primary() {
+        DataSource dataSource = primary;
+        if (dataSource == null) {
+            throw new IllegalStateException("primary DataSource가 연결되지 않았습니다.");
+        }
+        return dataSource;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.spring.datajpa.datasource;
+
+public enum ReplicaSelection {
+    /** 정상 replica를 차례로 */
+    ROUND_ROBIN,
+    /** 최근 응답 시간(EWMA)이 가장 짧은 replica */
+    LEAST_LATENCY
+}
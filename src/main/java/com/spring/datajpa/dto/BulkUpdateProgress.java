@@ -0,0 +1,54 @@
+package com.spring.datajpa.dto;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+
+/**
+ * bulk update 진행 상황 (여러 스레드에서 갱신)
+ */
+public class BulkUpdateProgress {
+
+    @Getter
+    private final Long jobId;
+    @Getter
+    private final int totalChunks;
+    private final AtomicInteger completedChunks;
+    private final AtomicLong updatedRows;
+    private final AtomicLong rowsThisRun = new AtomicLong();
+    private final long startedAt = System.nanoTime();
+
+    public BulkUpdateProgress(Long jobId, int totalChunks, int completedChunks, long updatedRows) {
+        this.jobId = jobId;
+        this.totalChunks = totalChunks;
+        this.completedChunks = new AtomicInteger(completedChunks);
+        this.updatedRows = new AtomicLong(updatedRows);
+    }
+
+    public void chunkCompleted(int rows) {
+        completedChunks.incrementAndGet();
+        updatedRows.addAndGet(rows);
+        rowsThisRun.addAndGet(rows);
+    }
+
+    public int getCompletedChunks() {
+        return completedChunks.get();
+    }
+
+    public long getUpdatedRows() {
+        return updatedRows.get();
+    }
+
+    /**
+     * 이번 실행(resume 포함)에서 처리한 초당 row 수
+     */
+    public long getRowsPerSecond() {
+        long elapsed = Math.max(System.nanoTime() - startedAt, 1);
+        return rowsThisRun.get() * 1_000_000_000L / elapsed;
+    }
+
+    public boolean isDone() {
+        return completedChunks.get() >= totalChunks;
+    }
+}
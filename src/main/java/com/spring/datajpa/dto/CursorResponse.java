@@ -0,0 +1,18 @@
+package com.spring.datajpa.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * cursor 기반 조회 응답
+ * count 쿼리 없이 다음 cursor와 다음 데이터 존재 여부만 내려준다.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorResponse<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,68 @@
+package com.spring.datajpa.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import com.spring.datajpa.entity.Member;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * keyset 페이징의 연속 토큰
+ * 마지막으로 읽은 (age, member_id)를 담고, 클라이언트에는 불투명한 문자열로만 노출한다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class MemberCursor {
+
+    private static final String DELIMITER = ":";
+
+    private final int age;
+    private final Long id;
+
+    public static MemberCursor of(Member member) {
+        return new MemberCursor(member.getAge(), member.getId());
+    }
+
+    public String encode() {
+        String raw = age + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MemberCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(DELIMITER);
+            if (parts.length == 2) {
+                return new MemberCursor(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+            }
+        } catch (IllegalArgumentException e) { // Base64 디코딩 실패, NumberFormatException
+            throw new IllegalArgumentException("잘못된 cursor 입니다: " + token, e);
+        }
+        throw new IllegalArgumentException("잘못된 cursor 입니다: " + token);
+    }
+
+    /**
+     * 토큰이 없으면 첫 페이지, 있으면 해당 위치 다음부터 조회한다.
+     */
+    public static KeysetScrollPosition toPosition(String token) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        return decode(token).toPosition();
+    }
+
+    public KeysetScrollPosition toPosition() {
+        // 정렬 순서(age, id)와 같은 순서로 키를 넣는다.
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("age", age);
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,19 @@
+package com.spring.datajpa.dto;
+
+import java.util.List;
+
+import org.springframework.data.web.PagedModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * /members/summary 응답, 서로 관계없는 조회 3개를 모은다.
+ */
+@Getter
+@AllArgsConstructor
+public class MemberSummary {
+    private List<MemberDto> members;
+    private List<String> usernames;
+    private PagedModel<MemberDto> membersByAge;
+}
@@ -0,0 +1,13 @@
+package com.spring.datajpa.dto;
+
+/**
+ * 인터페이스 기반 projection (동적 projection 타입으로 사용)
+ * 조회 쿼리의 별칭(id, username, teamName)과 getter 이름이 같아야 한다.
+ */
+public interface MemberView {
+    Long getId();
+
+    String getUsername();
+
+    String getTeamName();
+}
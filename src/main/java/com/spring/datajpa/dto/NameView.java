@@ -0,0 +1,10 @@
+package com.spring.datajpa.dto;
+
+/**
+ * 검색 색인 재생성용 projection (id, 이름만 조회)
+ */
+public interface NameView {
+    Long getId();
+
+    String getName();
+}
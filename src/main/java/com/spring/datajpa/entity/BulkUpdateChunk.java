@@ -0,0 +1,45 @@
+package com.spring.datajpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 완료된 id 구간
+ * 구간 update와 같은 트랜잭션에서 저장되므로, 저장되어 있으면 해당 구간은 반영된 것이다.
+ * (job_id, from_id) unique 제약으로 같은 구간이 두 번 반영되지 않는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_bulk_update_chunk", columnNames = { "job_id", "from_id" }))
+public class BulkUpdateChunk {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "bulk_update_chunk_id")
+    private Long id;
+
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(name = "from_id")
+    private long fromId;
+
+    private long toId;
+
+    private int updatedRows;
+
+    public BulkUpdateChunk(Long jobId, long fromId, long toId, int updatedRows) {
+        this.jobId = jobId;
+        this.fromId = fromId;
+        this.toId = toId;
+        this.updatedRows = updatedRows;
+    }
+}
@@ -0,0 +1,58 @@
+package com.spring.datajpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * id 구간으로 나누어 실행하는 bulk update 작업
+ * 시작 시점의 id 범위(fromId ~ toId)를 저장해 두고, 실패하면 완료되지 않은 구간만 이어서 실행한다.
+ * lastId까지는 모든 구간이 완료되었으므로 resume은 lastId 다음부터 구간을 나눈다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = { "id", "name", "age", "fromId", "toId", "lastId", "chunkSize", "status" })
+public class BulkUpdateJob extends JpaBaseEntity {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "bulk_update_job_id")
+    private Long id;
+
+    private String name;
+
+    private int age;
+
+    private long fromId;
+
+    private long toId;
+
+    private long lastId;
+
+    private int chunkSize;
+
+    @Enumerated(EnumType.STRING)
+    private BulkUpdateStatus status;
+
+    public BulkUpdateJob(String name, int age, long fromId, long toId, int chunkSize) {
+        this.name = name;
+        this.age = age;
+        this.fromId = fromId;
+        this.toId = toId;
+        this.lastId = fromId - 1;
+        this.chunkSize = chunkSize;
+        this.status = BulkUpdateStatus.RUNNING;
+    }
+
+    public void changeStatus(BulkUpdateStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,5 @@
+package com.spring.datajpa.entity;
+
+public enum BulkUpdateStatus {
+    RUNNING, COMPLETED, FAILED
+}
@@ -3,26 +3,23 @@ package com.spring.datajpa.entity;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
-import jakarta.persistence.PrePersist;
-import jakarta.persistence.PreUpdate;
 
 @MappedSuperclass
+@EntityListeners(JpaBaseEntityListener.class)
 public class JpaBaseEntity {
 
     @Column(updatable = false)
     private LocalDateTime createdDate;
     private LocalDateTime updatedDate;
 
-    @PrePersist
-    public void prePersist() {
-        LocalDateTime now = LocalDateTime.now();
+    void created(LocalDateTime now) {
         createdDate = now;
         updatedDate = now;
     }
 
-    @PreUpdate
-    public void preUpdate() {
-        updatedDate = LocalDateTime.now();
+    void updated(LocalDateTime now) {
+        updatedDate = now;
     }
 }
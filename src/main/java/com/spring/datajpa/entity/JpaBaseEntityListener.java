@@ -0,0 +1,31 @@
+package com.spring.datajpa.entity;
+
+import java.time.LocalDateTime;
+
+import com.spring.datajpa.audit.AuditTimestamps;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * JpaBaseEntity 등록일/수정일
+ * Hibernate가 SpringBeanContainer로 생성하므로 생성자로 AuditTimestamps 빈을 주입받는다.
+ */
+public class JpaBaseEntityListener {
+
+    private final AuditTimestamps auditTimestamps;
+
+    public JpaBaseEntityListener(AuditTimestamps auditTimestamps) {
+        this.auditTimestamps = auditTimestamps;
+    }
+
+    @PrePersist
+    public void prePersist(JpaBaseEntity entity) {
+        entity.created(auditTimestamps.now());
+    }
+
+    @PreUpdate
+    public void preUpdate(JpaBaseEntity entity) {
+        entity.updated(auditTimestamps.now());
+    }
+}
@@ -1,14 +1,19 @@
 package com.spring.datajpa.entity;
 
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.NamedQuery;
 
+import com.spring.datajpa.id.BlockSequence;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,6 +21,8 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
+// keyset 페이징 (age, member_id) 정렬/조건을 인덱스로 처리한다.
+@Table(indexes = @Index(name = "idx_member_age_id", columnList = "age, member_id"))
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -23,11 +30,21 @@ import lombok.ToString;
 // @NamedQuery는 어플리케이션 실행 시점에 문법 오류를 잡아주는 장점이 있다.
 @NamedQuery(
     name = "Member.findByUsername", 
-    query = "select m from Member m where m.username = :username"
+    query = "select m from Member m where m.username = :username",
+    // 쿼리 캐시 (app.cache.enabled=true 일 때), member 테이블이 변경되면 자동으로 무효화된다.
+    cacheable = true,
+    cacheRegion = "member.findByUsername"
 )
+// MemberJpaRepository 쿼리, 시작 시점에 한 번 파싱해 두고 호출마다 재사용한다.
+@NamedQuery(name = "MemberJpa.findAll", query = "select m from Member m")
+@NamedQuery(name = "MemberJpa.count", query = "select count(m) from Member m")
+@NamedQuery(name = "MemberJpa.findByPage", query = "select m from Member m where m.age = :age order by m.username desc")
+@NamedQuery(name = "MemberJpa.totalCount", query = "select count(m) from Member m where m.age = :age")
+@NamedQuery(name = "MemberJpa.bulkAgePlus", query = "update versioned Member m set m.age = m.age + 1 where m.age >= :age")
 public class Member extends JpaBaseEntity {
     @Id
-    @GeneratedValue
+    // 노드마다 1000개씩 id 구간을 예약해서 insert마다 시퀀스를 조회하지 않고, 다음 구간은 미리 받아 둔다.
+    @BlockSequence(name = "member_seq", blockSize = 1000)
     @Column(name = "member_id")
     private Long id;
 
@@ -35,6 +52,10 @@ public class Member extends JpaBaseEntity {
 
     private int age;
 
+    // 낙관적 락: 동시에 수정하면 먼저 커밋한 쪽만 반영되고 나머지는 ObjectOptimisticLockingFailureException
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
@@ -51,7 +72,14 @@ public class Member extends JpaBaseEntity {
         }
     }
 
+    /**
+     * 새 팀의 members에 추가하면 Team 버전도 올라가서, 같은 팀으로의 동시 변경이 서로를 덮어쓰지 않는다.
+     * 이전 팀의 members는 이미 로딩된 경우에만 제거한다. (제거하려고 컬렉션 전체를 조회하지 않는다.)
+     */
     public void changeTeam(Team team) {
+        if (this.team != null && Hibernate.isInitialized(this.team.getMembers())) {
+            this.team.getMembers().remove(this);
+        }
         this.team = team;
         team.getMembers().add(this);
     }
@@ -3,11 +3,19 @@ package com.spring.datajpa.entity;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NamedQuery;
+import org.hibernate.annotations.OptimisticLock;
+
+import com.spring.datajpa.id.BlockSequence;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,20 +23,31 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
+// 자주 조회되고 거의 변경되지 않으므로 2차 캐시 대상 (app.cache.enabled=true 일 때)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = { "id", "name" })
+// TeamJpaRepository 쿼리
+@NamedQuery(name = "TeamJpa.findAll", query = "select t from Team t")
+@NamedQuery(name = "TeamJpa.count", query = "select count(t) from Team t")
 public class Team extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @BlockSequence(name = "team_seq", blockSize = 100)
     @Column(name = "team_id")
     private Long id;
 
     private String name;
 
+    @Version
+    private Long version;
+
+    // mappedBy 컬렉션은 기본적으로 버전 대상이 아니다. members 변경(Member.changeTeam)도 버전을 올리도록 포함시킨다.
     @OneToMany(mappedBy = "team")
+    @OptimisticLock(excluded = false)
     private List<Member> members = new ArrayList<>();
 
     public Team(String name) {
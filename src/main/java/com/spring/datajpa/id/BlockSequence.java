@@ -0,0 +1,35 @@
+package com.spring.datajpa.id;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * DB 시퀀스에서 blockSize 크기의 id 구간을 노드별로 예약해서 메모리에서 나누어 주는 id 생성 전략
+ *
+ * <pre>
+ * &#64;Id
+ * &#64;BlockSequence(name = "member_seq", blockSize = 1000)
+ * private Long id;
+ * </pre>
+ */
+@IdGeneratorType(BlockSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({ FIELD, METHOD })
+public @interface BlockSequence {
+
+    /**
+     * 시퀀스 이름 (increment by = blockSize로 생성된다.)
+     */
+    String name();
+
+    /**
+     * 한 번에 예약할 id 개수, 노드가 재시작되면 쓰지 않은 구간은 버려진다.
+     */
+    int blockSize() default 1000;
+}
@@ -0,0 +1,189 @@
+package com.spring.datajpa.id;
+
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.Namespace;
+import org.hibernate.boot.model.relational.QualifiedSequenceName;
+import org.hibernate.boot.model.relational.Sequence;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * &#64;BlockSequence id 생성기 (pooled-lo)
+ * 시퀀스 값 v를 받으면 [v, v + blockSize) 구간을 이 노드가 쓴다.
+ * 구간 안에서는 AtomicLong으로 lock 없이 나누어 주고, 구간의 절반을 쓰면 다음 구간을 별도 스레드에서 미리 받아 둔다.
+ * 구간을 바꾸는 순간(blockSize번에 한 번)에만 동기화한다.
+ */
+@Slf4j
+public class BlockSequenceGenerator implements IdentifierGenerator {
+
+    private static final String CONTRIBUTOR = "datajpa";
+
+    // 모든 생성기가 공유하는 prefetch 스레드
+    private static final ExecutorService PREFETCH = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "id-block-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String sequenceName;
+    private final int blockSize;
+
+    private QualifiedSequenceName physicalName;
+    private String nextValueSql;
+    private volatile ConnectionProvider connectionProvider;
+
+    private volatile Block current;
+    private CompletableFuture<Block> prefetched; // guarded by this
+
+    public BlockSequenceGenerator(BlockSequence config, Member idMember, CustomIdGeneratorCreationContext context) {
+        if (config.blockSize() < 1) {
+            throw new IllegalArgumentException("blockSize는 1 이상이어야 합니다: " + config.blockSize());
+        }
+        this.sequenceName = config.name();
+        this.blockSize = config.blockSize();
+    }
+
+    @Override
+    public void registerExportables(Database database) {
+        Namespace namespace = database.getDefaultNamespace();
+        Identifier logicalName = database.toIdentifier(sequenceName);
+        Sequence sequence = namespace.locateSequence(logicalName);
+        if (sequence == null) {
+            sequence = namespace.createSequence(logicalName, physical -> new Sequence(CONTRIBUTOR,
+                    namespace.getPhysicalName().getCatalog(), namespace.getPhysicalName().getSchema(),
+                    physical, 1, blockSize));
+        } else {
+            sequence.validate(1, blockSize);
+        }
+        this.physicalName = sequence.getName();
+    }
+
+    @Override
+    public void initialize(SqlStringGenerationContext context) {
+        this.nextValueSql = context.getDialect().getSequenceSupport()
+                .getSequenceNextValString(context.format(physicalName));
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        while (true) {
+            Block block = current;
+            if (block != null) {
+                long id = block.next.getAndIncrement();
+                if (id < block.end) {
+                    if (id == block.prefetchAt) {
+                        prefetch(session);
+                    }
+                    return id;
+                }
+            }
+            advance(block, session);
+        }
+    }
+
+    private void prefetch(SharedSessionContractImplementor session) {
+        ConnectionProvider provider = connectionProvider(session);
+        synchronized (this) {
+            if (prefetched == null) {
+                prefetched = CompletableFuture.supplyAsync(() -> new Block(nextValue(provider), blockSize), PREFETCH);
+            }
+        }
+    }
+
+    /**
+     * exhausted 구간을 다 쓴 스레드 중 하나만 다음 구간으로 바꾼다.
+     * 미리 받아 둔 구간이 없으면(첫 호출, prefetch 실패) 현재 세션의 커넥션으로 바로 받는다.
+     */
+    private synchronized void advance(Block exhausted, SharedSessionContractImplementor session) {
+        if (current != exhausted) {
+            return;
+        }
+        Block next = null;
+        if (prefetched != null) {
+            try {
+                next = prefetched.join();
+            } catch (CompletionException e) {
+                log.warn("{} 다음 구간 prefetch 실패, 다시 조회합니다.", sequenceName, e.getCause());
+            }
+            prefetched = null;
+        }
+        current = next != null ? next : new Block(nextValue(session), blockSize);
+    }
+
+    private long nextValue(SharedSessionContractImplementor session) {
+        JdbcCoordinator jdbc = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbc.getStatementPreparer().prepareStatement(nextValueSql);
+        try {
+            ResultSet resultSet = jdbc.getResultSetReturn().extract(statement, nextValueSql);
+            return firstValue(resultSet);
+        } catch (SQLException e) {
+            throw new IdentifierGenerationException("시퀀스 조회 실패: " + nextValueSql, e);
+        } finally {
+            jdbc.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbc.afterStatementExecution();
+        }
+    }
+
+    private long nextValue(ConnectionProvider provider) {
+        try {
+            Connection connection = provider.getConnection();
+            try (Statement statement = connection.createStatement();
+                    ResultSet resultSet = statement.executeQuery(nextValueSql)) {
+                return firstValue(resultSet);
+            } finally {
+                provider.closeConnection(connection);
+            }
+        } catch (SQLException e) {
+            throw new IdentifierGenerationException("시퀀스 조회 실패: " + nextValueSql, e);
+        }
+    }
+
+    private long firstValue(ResultSet resultSet) throws SQLException {
+        if (!resultSet.next()) {
+            throw new IdentifierGenerationException("시퀀스 조회 결과가 없습니다: " + nextValueSql);
+        }
+        return resultSet.getLong(1);
+    }
+
+    private ConnectionProvider connectionProvider(SharedSessionContractImplementor session) {
+        ConnectionProvider provider = connectionProvider;
+        if (provider == null) {
+            provider = session.getFactory().getServiceRegistry().requireService(ConnectionProvider.class);
+            connectionProvider = provider;
+        }
+        return provider;
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long end;
+        private final long prefetchAt;
+
+        private Block(long start, int size) {
+            this.next = new AtomicLong(start);
+            this.end = start + size;
+            this.prefetchAt = start + size / 2;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.spring.datajpa.metrics;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import com.spring.datajpa.datasource.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hibernate Statistics와 커넥션 풀 상태를 읽는다.
+ * (Statistics는 app.metrics.hibernate-statistics=true일 때만 값이 쌓인다.)
+ */
+@Component
+public class JpaMetricsReader {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    // 처음 조회할 때 꺼낸다. (fast-startup에서 빈 생성 중에 백그라운드 EntityManagerFactory 생성을 기다리지 않도록)
+    private volatile Statistics statistics;
+
+    public JpaMetricsReader(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+    }
+
+    public Map<String, Number> hibernate() {
+        Statistics statistics = statistics();
+        Map<String, Number> values = new LinkedHashMap<>();
+        values.put("statistics_enabled", statistics.isStatisticsEnabled() ? 1 : 0);
+        values.put("entity_load_count", statistics.getEntityLoadCount());
+        values.put("entity_fetch_count", statistics.getEntityFetchCount());
+        values.put("collection_fetch_count", statistics.getCollectionFetchCount());
+        values.put("flush_count", statistics.getFlushCount());
+        values.put("prepare_statement_count", statistics.getPrepareStatementCount());
+        values.put("second_level_cache_hit_count", statistics.getSecondLevelCacheHitCount());
+        values.put("second_level_cache_miss_count", statistics.getSecondLevelCacheMissCount());
+        values.put("query_cache_hit_count", statistics.getQueryCacheHitCount());
+        values.put("query_execution_count", statistics.getQueryExecutionCount());
+        values.put("query_execution_max_time_ms", statistics.getQueryExecutionMaxTime());
+        return values;
+    }
+
+    public String slowestQuery() {
+        return statistics().getQueryExecutionMaxTimeQueryString();
+    }
+
+    private Statistics statistics() {
+        Statistics current = statistics;
+        if (current == null) {
+            current = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics = current;
+        }
+        return current;
+    }
+
+    public Map<String, Number> pool() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                if (pool != null) { // 첫 커넥션을 얻기 전에는 풀이 없다.
+                    values.put("active", pool.getActiveConnections());
+                    values.put("idle", pool.getIdleConnections());
+                    values.put("total", pool.getTotalConnections());
+                    values.put("pending", pool.getThreadsAwaitingConnection());
+                }
+            }
+            if (dataSource.isWrapperFor(ConnectionLimitingDataSource.class)) {
+                ConnectionLimitingDataSource limiter = dataSource.unwrap(ConnectionLimitingDataSource.class);
+                values.put("limiter_available", limiter.getAvailablePermits());
+                values.put("limiter_queue", limiter.getQueueLength());
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("DataSource를 unwrap 할 수 없습니다.", e);
+        }
+        return values;
+    }
+}
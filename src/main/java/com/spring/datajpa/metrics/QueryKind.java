@@ -0,0 +1,19 @@
+package com.spring.datajpa.metrics;
+
+/**
+ * 리포지토리 메서드가 실행하는 쿼리의 종류 (메트릭 태그)
+ */
+public enum QueryKind {
+    /** 메서드 이름으로 생성한 쿼리 */
+    DERIVED,
+    /** &#64;Query */
+    QUERY,
+    /** NamedQuery (@Query(name = ...) 또는 "도메인.메서드" 이름 규칙) */
+    NAMED,
+    /** &#64;EntityGraph */
+    ENTITY_GRAPH,
+    /** SimpleJpaRepository가 제공하는 기본 메서드 (save, findById ...) */
+    CRUD,
+    /** 사용자 정의 구현(fragment), default 메서드 */
+    CUSTOM
+}
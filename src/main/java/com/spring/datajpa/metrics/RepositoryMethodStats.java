@@ -0,0 +1,77 @@
+package com.spring.datajpa.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+
+/**
+ * 리포지토리 메서드 하나의 누적 호출 통계
+ * 여러 스레드에서 동시에 기록하므로 LongAdder로 경합 없이 더한다.
+ */
+public class RepositoryMethodStats {
+
+    @Getter
+    private final String repository;
+    @Getter
+    private final String method;
+    @Getter
+    private final String signature;
+    @Getter
+    private final QueryKind queryKind;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+
+    RepositoryMethodStats(String repository, String method, String signature, QueryKind queryKind) {
+        this.repository = repository;
+        this.method = method;
+        this.signature = signature;
+        this.queryKind = queryKind;
+    }
+
+    void record(long nanos, long rowCount, long statementCount, boolean error) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        rows.add(rowCount);
+        statements.add(statementCount);
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public double getTotalMillis() {
+        return totalNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0 : getTotalMillis() / n;
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+}
@@ -0,0 +1,45 @@
+package com.spring.datajpa.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 리포지토리 메서드별 통계 저장소 (MetricsConfig에서 app.metrics.repository.enabled=true일 때 등록)
+ */
+public class RepositoryMetrics {
+
+    // 오버로드된 메서드와 여러 리포지토리가 공유하는 CRUD 메서드를 구분하도록 (리포지토리, Method)로 묶는다.
+    private final Map<MethodKey, RepositoryMethodStats> stats = new ConcurrentHashMap<>();
+
+    RepositoryMethodStats register(Class<?> repositoryInterface, Method method, QueryKind queryKind) {
+        return stats.computeIfAbsent(new MethodKey(repositoryInterface, method),
+                key -> new RepositoryMethodStats(repositoryInterface.getSimpleName(), method.getName(),
+                        signature(method), queryKind));
+    }
+
+    /**
+     * 총 실행 시간이 긴 순서
+     */
+    public List<RepositoryMethodStats> getMethodStats() {
+        return stats.values().stream()
+                .sorted(Comparator.comparingDouble(RepositoryMethodStats::getTotalMillis).reversed())
+                .toList();
+    }
+
+    /**
+     * 메서드 이름과 파라미터 타입 ("findByNames(Collection)")
+     */
+    private static String signature(Method method) {
+        return Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", method.getName() + "(", ")"));
+    }
+
+    private record MethodKey(Class<?> repository, Method method) {
+    }
+}
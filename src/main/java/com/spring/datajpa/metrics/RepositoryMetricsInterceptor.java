@@ -0,0 +1,143 @@
+package com.spring.datajpa.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.annotations.NamedQuery;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+
+import com.spring.datajpa.sql.SqlStatementTracker;
+
+/**
+ * 리포지토리 메서드마다 실행 시간, 조회(변경) 건수, 실행한 SQL 수를 기록한다.
+ * 메서드별 통계 객체와 쿼리 종류는 첫 호출 때 한 번만 구해서 재사용한다.
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    // 지금 실행 중인 리포지토리 메서드 (SlowQueryListener가 SQL을 호출한 메서드를 기록할 때 사용)
+    private static final ThreadLocal<RepositoryMethodStats> CURRENT = new ThreadLocal<>();
+
+    private final RepositoryInformation repositoryInformation;
+    private final ObjectProvider<RepositoryMetrics> metricsProvider;
+    private final Map<Method, RepositoryMethodStats> stats = new ConcurrentHashMap<>();
+    // 메트릭이 꺼져 있으면 매번 빈을 찾지 않도록 첫 호출 때 한 번만 조회한다.
+    private volatile Optional<RepositoryMetrics> metrics;
+
+    public RepositoryMetricsInterceptor(RepositoryInformation repositoryInformation,
+            ObjectProvider<RepositoryMetrics> metricsProvider) {
+        this.repositoryInformation = repositoryInformation;
+        this.metricsProvider = metricsProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (metrics == null) {
+            metrics = Optional.ofNullable(metricsProvider.getIfAvailable());
+        }
+        Method method = invocation.getMethod();
+        if (metrics.isEmpty() || method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        RepositoryMethodStats methodStats = stats.computeIfAbsent(method, m -> metrics.get().register(
+                repositoryInformation.getRepositoryInterface(), m, queryKind(m)));
+
+        RepositoryMethodStats outer = CURRENT.get();
+        CURRENT.set(methodStats);
+        long statementsBefore = SqlStatementTracker.executedStatements();
+        long start = System.nanoTime();
+        Object result = null;
+        boolean error = true;
+        try {
+            result = invocation.proceed();
+            error = false;
+            return result;
+        } finally {
+            methodStats.record(System.nanoTime() - start, rows(method, result),
+                    SqlStatementTracker.executedStatements() - statementsBefore, error);
+            CURRENT.set(outer);
+        }
+    }
+
+    /**
+     * 현재 스레드에서 실행 중인 리포지토리 메서드 ("MemberRepository.findUser"), 없으면 null
+     */
+    public static String currentMethod() {
+        RepositoryMethodStats stats = CURRENT.get();
+        return stats == null ? null : stats.getRepository() + "." + stats.getMethod();
+    }
+
+    private QueryKind queryKind(Method method) {
+        if (AnnotatedElementUtils.hasAnnotation(method, EntityGraph.class)) {
+            return QueryKind.ENTITY_GRAPH;
+        }
+        Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+        if (query != null) {
+            return query.value().isEmpty() ? QueryKind.NAMED : QueryKind.QUERY;
+        }
+        if (repositoryInformation.isCustomMethod(method) || method.isDefault()) {
+            return QueryKind.CUSTOM;
+        }
+        if (repositoryInformation.isBaseClassMethod(method)) {
+            return QueryKind.CRUD;
+        }
+        return hasNamedQuery(method) ? QueryKind.NAMED : QueryKind.DERIVED;
+    }
+
+    private boolean hasNamedQuery(Method method) {
+        Class<?> domainType = repositoryInformation.getDomainType();
+        String name = domainType.getSimpleName() + "." + method.getName();
+        for (jakarta.persistence.NamedQuery namedQuery : domainType.getAnnotationsByType(jakarta.persistence.NamedQuery.class)) {
+            if (namedQuery.name().equals(name)) {
+                return true;
+            }
+        }
+        // Member는 Hibernate @NamedQuery를 사용한다.
+        for (NamedQuery namedQuery : domainType.getAnnotationsByType(NamedQuery.class)) {
+            if (namedQuery.name().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 조회 건수 (@Modifying이면 변경 건수), Stream은 아직 읽지 않았으므로 0
+     */
+    private static long rows(Method method, Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number number) {
+            return method.isAnnotationPresent(Modifying.class) ? number.longValue() : 1;
+        }
+        if (result instanceof BaseStream<?, ?>) {
+            return 0;
+        }
+        return 1;
+    }
+}
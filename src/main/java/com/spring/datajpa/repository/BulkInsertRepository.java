@@ -0,0 +1,21 @@
+package com.spring.datajpa.repository;
+
+import java.util.stream.Stream;
+
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 대량 저장용 사용자 정의 리포지토리 (Member, Team 공통)
+ */
+public interface BulkInsertRepository<T> {
+
+    /**
+     * batchSize 건마다 flush/clear 하면서 저장한다.
+     * hibernate.jdbc.batch_size와 같게 주면 JDBC batch insert 한 번에 flush 된다.
+     * clear로 영속성 컨텍스트가 비워지므로, 같은 트랜잭션에서 먼저 조회한 엔티티도 준영속 상태가 된다.
+     *
+     * @return 저장한 건수
+     */
+    @Transactional
+    <S extends T> long saveAllInBatches(Stream<S> entities, int batchSize);
+}
@@ -0,0 +1,38 @@
+package com.spring.datajpa.repository;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class BulkInsertRepositoryImpl<T> implements BulkInsertRepository<T> {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @Transactional
+    public <S extends T> long saveAllInBatches(Stream<S> entities, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize는 0보다 커야 합니다: " + batchSize);
+        }
+
+        long count = 0;
+        Iterator<S> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            // save()와 달리 merge 여부를 판단하지 않고 항상 persist 한다.
+            em.persist(iterator.next());
+            if (++count % batchSize == 0) {
+                // 쓰기 지연 SQL을 batch로 내보내고, 1차 캐시를 비워 힙 사용량을 일정하게 유지한다.
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+}
@@ -0,0 +1,17 @@
+package com.spring.datajpa.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.spring.datajpa.entity.BulkUpdateChunk;
+
+public interface BulkUpdateChunkRepository extends JpaRepository<BulkUpdateChunk, Long> {
+
+    List<BulkUpdateChunk> findByJobIdOrderByFromId(Long jobId);
+
+    @Query("select coalesce(sum(c.updatedRows), 0) from BulkUpdateChunk c where c.jobId = :jobId")
+    long sumUpdatedRows(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,16 @@
+package com.spring.datajpa.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.spring.datajpa.entity.BulkUpdateJob;
+
+public interface BulkUpdateJobRepository extends JpaRepository<BulkUpdateJob, Long> {
+
+    // 구간은 순서와 상관없이 완료되므로 더 큰 값으로만 바꾼다.
+    @Modifying
+    @Query("update BulkUpdateJob j set j.lastId = :lastId where j.id = :jobId and j.lastId < :lastId")
+    int advanceLastId(@Param("jobId") Long jobId, @Param("lastId") long lastId);
+}
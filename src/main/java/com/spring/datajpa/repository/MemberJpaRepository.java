@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.spring.datajpa.entity.Member;
 
@@ -11,23 +12,25 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
 @Repository
+@Transactional(readOnly = true)
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    @Transactional
     public Member save(Member member) {
         em.persist(member);
         return member;
     }
 
+    @Transactional
     public void delete(Member member) {
         em.remove(member);
     }
 
     public List<Member> findAll() {
-        return em.createQuery(
-                "select m from Member m", Member.class).getResultList();
+        return em.createNamedQuery("MemberJpa.findAll", Member.class).getResultList();
     }
 
     public Optional<Member> findById(Long id) {
@@ -36,8 +39,7 @@ public class MemberJpaRepository {
     }
 
     public long count() {
-        return em.createQuery(
-                "select count(m) from Member m", Long.class).getSingleResult();
+        return em.createNamedQuery("MemberJpa.count", Long.class).getSingleResult();
     }
 
     public Member find(Long id) {
@@ -51,8 +53,7 @@ public class MemberJpaRepository {
     }
 
     public List<Member> findByPage(int age, int offset, int limit) {
-        return em.createQuery(
-                "select m from Member m where m.age = :age order by m.username desc", Member.class)
+        return em.createNamedQuery("MemberJpa.findByPage", Member.class)
                 .setParameter("age", age)
                 .setFirstResult(offset)
                 .setMaxResults(limit)
@@ -60,15 +61,14 @@ public class MemberJpaRepository {
     }
 
     public Long totalCount(int age) {
-        return em.createQuery(
-                "select count(m) from Member m where m.age = :age", Long.class)
+        return em.createNamedQuery("MemberJpa.totalCount", Long.class)
                 .setParameter("age", age)
                 .getSingleResult();
     }
 
+    @Transactional
     public int bulkAgePlus(int age) {
-        return em.createQuery(
-                "update Member m set m.age = m.age +1 where m.age >= :age")
+        return em.createNamedQuery("MemberJpa.bulkAgePlus")
                 .setParameter("age", age)
                 .executeUpdate();
     }
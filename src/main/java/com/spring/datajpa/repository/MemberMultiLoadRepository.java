@@ -0,0 +1,23 @@
+package com.spring.datajpa.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.spring.datajpa.entity.Member;
+
+/**
+ * id 목록으로 여러 회원을 한 번에 조회하는 사용자 정의 리포지토리
+ */
+public interface MemberMultiLoadRepository {
+
+    /**
+     * 영속성 컨텍스트와 2차 캐시에 있는 회원은 그대로 쓰고, 나머지만 in 절로 조회한다.
+     * in 절은 최대 256개씩 나누고, hibernate.query.in_clause_parameter_padding으로 SQL 종류가 9가지를 넘지 않는다.
+     *
+     * @return ids와 같은 순서, 같은 크기 (없는 id 자리는 null, 중복 id는 같은 인스턴스)
+     */
+    @Transactional(readOnly = true)
+    List<Member> findAllByIdsOrdered(Collection<Long> ids);
+}
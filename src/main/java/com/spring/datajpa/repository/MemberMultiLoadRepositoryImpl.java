@@ -0,0 +1,50 @@
+package com.spring.datajpa.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.spring.datajpa.entity.Member;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class MemberMultiLoadRepositoryImpl implements MemberMultiLoadRepository {
+
+    static final int MAX_CHUNK = 256;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * Hibernate multi-load: 영속성 컨텍스트(삭제 예정 제외), 2차 캐시를 먼저 확인하고 나머지만 MAX_CHUNK개씩 in 절로 조회한다.
+     * multiLoad는 null id를 받지 않으므로 중복, null을 뺀 id로 조회하고 호출한 순서로 다시 맞춘다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Member> findAllByIdsOrdered(Collection<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        List<Member> loaded = em.unwrap(Session.class).byMultipleIds(Member.class)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(true)
+                .withBatchSize(MAX_CHUNK)
+                .multiLoad(distinct);
+
+        // enableOrderedReturn: distinct와 같은 순서, 없는 id 자리는 null
+        Map<Long, Member> found = new HashMap<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            found.put(distinct.get(i), loaded.get(i));
+        }
+        List<Member> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(id == null ? null : found.get(id));
+        }
+        return result;
+    }
+}
@@ -1,20 +1,39 @@
 package com.spring.datajpa.repository;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.spring.datajpa.dto.MemberDto;
+import com.spring.datajpa.dto.NameView;
 import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.repository.count.CountStrategy;
+import com.spring.datajpa.repository.count.TotalCount;
 
-public interface MemberRepository extends JpaRepository<Member, Long> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+// 조회 메서드는 읽기 전용 트랜잭션 (replica 설정 시 replica에서 조회), 변경 메서드는 @Transactional로 따로 지정한다.
+@Transactional(readOnly = true)
+public interface MemberRepository extends JpaRepository<Member, Long>, BulkInsertRepository<Member>,
+        MemberMultiLoadRepository {
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
 
     @Query(name = "Member.findByUsername") // 생략 가능 같은 이름의 NamedQuery가 있으면 해당 쿼리를 실행해주고, 없으면 쿼리를 생성해준다.
@@ -26,6 +45,10 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     List<Member> findUser(@Param("username") String username, @Param("age") int age);
 
     // 단순 값으로 직접 조회
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "member.findUsernameList")
+    })
     @Query("select m.username from Member m")
     List<String> findUsernameList();
 
@@ -33,23 +56,119 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     @Query("select new com.spring.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
-    // 리스트 타입 파라미터 바인딩 테스트 (in절로 쿼리가 나간다.)
+    // DTO로 직접 페이징 조회: 엔티티를 만들지 않으므로 영속성 컨텍스트/변경 감지 비용이 없다.
+    // left join이므로 팀이 없는 회원도 조회되고, 팀이 있으면 teamName이 채워진다.
+    @Transactional(readOnly = true)
+    @QueryHints(value = {
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    }, forCounting = false)
+    @Query(value = "select new com.spring.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t",
+            countQuery = "select count(m) from Member m")
+    Page<MemberDto> findMemberDtoPage(Pageable pageable);
+
+    // 동적 projection: 호출하는 쪽에서 MemberView 같은 인터페이스 타입을 넘긴다.
+    @Transactional(readOnly = true)
+    @Query(value = "select m.id as id, m.username as username, t.name as teamName from Member m left join m.team t",
+            countQuery = "select count(m) from Member m")
+    <T> Page<T> findProjectedBy(Pageable pageable, Class<T> type);
+
+    // 전체 export용 스트리밍 조회
+    // DTO로 직접 조회하므로 엔티티가 영속성 컨텍스트에 쌓이지 않고, fetch size 단위로 커서를 읽는다.
+    // 반환된 Stream은 트랜잭션 안에서 소비하고 반드시 close 해야 한다.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.spring.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t")
+    Stream<MemberDto> streamMemberDto();
+
+    // /members/stream: 페이지 하나를 같은 방식으로 스트리밍 조회 (count 쿼리 없음)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.spring.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t")
+    Stream<MemberDto> streamMemberDtoBy(Pageable pageable);
+
+    // 검색 색인 재생성용 (SearchIndexer), 트랜잭션 안에서 소비하고 close 해야 한다.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select m.id as id, m.username as name from Member m")
+    Stream<NameView> findMemberNamesBy();
+
+    // in 절 하나에 바인딩하는 최대 이름 개수, 넘으면 나누어 조회한다.
+    int NAME_CHUNK_SIZE = 256;
+
+    /**
+     * 리스트 타입 파라미터 바인딩 (중복 이름은 한 번만 바인딩)
+     * in 절 파라미터는 hibernate.query.in_clause_parameter_padding으로 2의 거듭제곱 개수로 채우고,
+     * NAME_CHUNK_SIZE개씩 나누어 조회해서 이름 개수와 상관없이 SQL 종류가 9개(1 ~ 256)를 넘지 않는다.
+     * (H2의 array_contains(?, username) 같은 배열 파라미터는 username 인덱스를 쓰지 못해 전체 스캔이 된다.)
+     */
+    default List<Member> findByNames(List<String> names, int age) {
+        List<String> distinct = names.stream().distinct().toList();
+        if (distinct.size() <= NAME_CHUNK_SIZE) {
+            return findByNameList(distinct, age);
+        }
+        List<Member> members = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += NAME_CHUNK_SIZE) {
+            members.addAll(findByNameList(distinct.subList(from, Math.min(from + NAME_CHUNK_SIZE, distinct.size())), age));
+        }
+        return members;
+    }
+
     @Query("select m from Member m where m.username in :names and m.age = :age")
-    List<Member> findByNames(@Param("names") List<String> names, @Param("age") int age);
+    List<Member> findByNameList(@Param("names") List<String> names, @Param("age") int age);
 
     // @Query countQuery를 사용해서 count 쿼리를 분리할 수도 있다.
     // @Query(value = "select m from Member m left join fetch m.team t", countQuery = "select count(m.username) from Member m")
+    // @TotalCount로 count 쿼리 대신 캐시된 건수/카운터/예상치를 사용할 수 있다. (CountedPage.countStrategy로 응답)
+    @TotalCount(value = CountStrategy.CACHED, sliceMethod = "findSliceByAge")
     Page<Member> findPageByAge(int age, Pageable pageable);
+    @TotalCount(value = CountStrategy.COUNTER, sliceMethod = "findSliceBy")
     Page<Member> findPageBy(Pageable pageable);
 
     Slice<Member> findSliceByAge(int age, Pageable pageable);
+    Slice<Member> findSliceBy(Pageable pageable);
 
     List<Member> findListByAge(int age, Pageable pageable);
 
+    // keyset(seek) 페이징: offset 대신 마지막 (age, id) 이후부터 조회하고, count 쿼리를 실행하지 않는다.
+    // limit + 1건을 조회해서 다음 Window 존재 여부를 판단한다.
+    Window<Member> findWindowByOrderByAgeAscIdAsc(ScrollPosition position, Limit limit);
+
+    @Transactional
     @Modifying(clearAutomatically = true) // jpa의 executeUpdate()
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    // 엔티티 이벤트가 발생하지 않으므로 호출 후 TeamStatsRepository.rebuild()가 필요하다. (MemberBulkUpdateService는 자동으로 실행)
+    // versioned: 버전도 함께 올려서, bulk 연산 전에 조회한 엔티티의 변경이 bulk 결과를 덮어쓰지 않게 한다.
+    @Query("update versioned Member m set m.age = m.age + 1 where m.age >= :age")
     int bulkAgePlus(int age);
 
+    // id 구간별 bulk update (MemberBulkUpdateService)
+    @Transactional
+    @Modifying
+    @Query("update versioned Member m set m.age = m.age + 1 where m.age >= :age and m.id between :fromId and :toId")
+    int bulkAgePlusBetween(@Param("age") int age, @Param("fromId") long fromId, @Param("toId") long toId);
+
+    // MemberBulkUpdateService 구간 나누기: lastId 다음 id부터 pageable(offset, 1건) 위치의 id
+    @Query("select m.id from Member m where m.id > :lastId and m.id <= :toId order by m.id")
+    List<Long> findIdsAfter(@Param("lastId") long lastId, @Param("toId") long toId, Pageable pageable);
+
+    @Query("select min(m.id) from Member m where m.age >= :age")
+    Long findMinIdByAgeAtLeast(@Param("age") int age);
+
+    @Query("select max(m.id) from Member m where m.age >= :age")
+    Long findMaxIdByAgeAtLeast(@Param("age") int age);
+
+    // 비관적 락 (MemberTeamService.changeTeamWithLock), select ... for update
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Member m where m.id = :id")
+    Optional<Member> findForUpdateById(@Param("id") Long id);
+
     @Query("select m from Member m left join fetch m.team")
     List<Member> findMemberFetchJoin();
 
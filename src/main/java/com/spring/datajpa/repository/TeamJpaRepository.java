@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.spring.datajpa.entity.Team;
 
@@ -11,28 +12,29 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
 @Repository
+@Transactional(readOnly = true)
 public class TeamJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    @Transactional
     public Team save(Team team) {
         em.persist(team);
         return team;
     }
 
+    @Transactional
     public void delete(Team team) {
         em.remove(team);
     }
 
     public List<Team> findAll() {
-        return em.createQuery(
-                "select t from Team t", Team.class).getResultList();
+        return em.createNamedQuery("TeamJpa.findAll", Team.class).getResultList();
     }
 
     public Long count() {
-        return em.createQuery(
-                "select count(t) from Team t", Long.class).getSingleResult();
+        return em.createNamedQuery("TeamJpa.count", Long.class).getSingleResult();
     }
 
     public Optional<Team> findById(Long id) {
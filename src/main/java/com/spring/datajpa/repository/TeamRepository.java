@@ -1,9 +1,64 @@
 package com.spring.datajpa.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.spring.datajpa.dto.NameView;
 import com.spring.datajpa.entity.Team;
 
-public interface TeamRepository extends JpaRepository<Team, Long> {
-    
+import jakarta.persistence.LockModeType;
+
+@Transactional(readOnly = true)
+public interface TeamRepository extends JpaRepository<Team, Long>, BulkInsertRepository<Team> {
+
+    @Query("select t.id from Team t")
+    Page<Long> findIdPage(Pageable pageable);
+
+    @Query("select distinct t from Team t left join fetch t.members where t.id in :ids")
+    List<Team> findWithMembersByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Team t where t.id = :id")
+    Optional<Team> findForUpdateById(@Param("id") Long id);
+
+    // 검색 색인 재생성용 (SearchIndexer)
+    @Query("select t.id as id, t.name as name from Team t")
+    Stream<NameView> findTeamNamesBy();
+
+    /**
+     * 컬렉션 fetch join과 페이징을 같이 쓰면 전체를 메모리에서 페이징한다. (HHH90003004 경고)
+     * id만 먼저 페이징하고, 해당 id의 team을 members와 함께 fetch join 해서
+     * 페이지 크기와 상관없이 쿼리 2번(+ count)으로 조회한다.
+     */
+    default Page<Team> findPageWithMembers(Pageable pageable) {
+        Page<Long> ids = findIdPage(pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+        Map<Long, Team> teams = findWithMembersByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        // in 절 조회 결과는 순서가 보장되지 않으므로 id 페이지 순서대로 맞춘다.
+        // 두 쿼리 사이에 삭제된 team은 건너뛴다. (total은 id 페이징 기준)
+        List<Team> content = ids.getContent().stream()
+                .map(teams::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
 }
@@ -0,0 +1,176 @@
+package com.spring.datajpa.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spring.datajpa.stats.TeamStats;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 팀별 통계 read model (메모리)
+ *
+ * Member insert/update/delete 커밋 이벤트(TeamStatsEventListener)로 바뀐 팀만 다시 계산하고,
+ * bulk update처럼 이벤트가 없는 변경 뒤에는 rebuild()로 group by 조회 한 번에 전체를 다시 만든다.
+ * 집계는 복제 지연이 없도록 primary에서 조회한다. (읽기 전용 트랜잭션은 replica로 간다.)
+ * 조회는 팀별 불변 TeamStats를 잠금 없이 읽는다.
+ */
+@Slf4j
+@Repository
+public class TeamStatsRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final TransactionTemplate primaryTx;
+
+    private final Map<Long, TeamStats> snapshot = new ConcurrentHashMap<>();
+    // 팀 -> (나이 -> 회원 수), 변경은 synchronized 안에서만
+    private final Map<Long, NavigableMap<Integer, Long>> ageCounts = new HashMap<>();
+    // 집계 쿼리 실행 직전부터 들어온 변경, 새로 만든 집계에 다시 적용한다.
+    private List<Move> journal;
+    private boolean rebuilding;
+    // 반영하지 못한 변경이 있어서 rebuild()가 필요한 상태
+    private volatile boolean stale;
+
+    public TeamStatsRepository(PlatformTransactionManager transactionManager) {
+        this.primaryTx = new TransactionTemplate(transactionManager);
+    }
+
+    public Optional<TeamStats> findById(Long teamId) {
+        return Optional.ofNullable(snapshot.get(teamId));
+    }
+
+    public List<TeamStats> findAll() {
+        return snapshot.values().stream()
+                .sorted(Comparator.comparing(TeamStats::getTeamId))
+                .toList();
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public void markStale() {
+        stale = true;
+    }
+
+    /**
+     * 회원 한 명의 (팀, 나이) 변경. 팀이 없으면(null) 해당 쪽은 무시한다.
+     */
+    public synchronized void move(Long fromTeamId, int fromAge, Long toTeamId, int toAge) {
+        if (fromTeamId != null) {
+            add(ageCounts, fromTeamId, fromAge, -1);
+            publish(fromTeamId);
+        }
+        if (toTeamId != null) {
+            add(ageCounts, toTeamId, toAge, 1);
+            publish(toTeamId);
+        }
+        if (journal != null) {
+            journal.add(new Move(fromTeamId, fromAge, toTeamId, toAge));
+        }
+    }
+
+    /**
+     * 팀별, 나이별 회원 수를 group by로 다시 집계해서 교체한다.
+     * 이미 실행 중이면 기다리지 않고, 실행 중인 rebuild가 끝난 뒤 한 번 더 집계하도록 표시만 한다.
+     */
+    public void rebuild() {
+        synchronized (this) {
+            if (rebuilding) {
+                stale = true;
+                return;
+            }
+            rebuilding = true;
+        }
+        try {
+            do {
+                rebuildOnce();
+            } while (stale);
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+            }
+        }
+    }
+
+    private void rebuildOnce() {
+        long start = System.nanoTime();
+        synchronized (this) {
+            stale = false;
+        }
+        Map<Long, NavigableMap<Integer, Long>> rebuilt = new HashMap<>();
+        try {
+            List<Object[]> rows = primaryTx.execute(status -> {
+                status.setRollbackOnly();
+                // 커넥션을 얻은 뒤 쿼리 직전에 journal을 시작해서, 집계에 이미 포함된 커밋이 다시 적용되는 구간을 줄인다.
+                // (커밋 직후 이벤트가 오기 전에 조회가 시작된 변경은 한 번 더 반영될 수 있다.)
+                synchronized (this) {
+                    journal = new ArrayList<>();
+                }
+                return em.createQuery(
+                        "select m.team.id, m.age, count(m) from Member m where m.team is not null group by m.team.id, m.age",
+                        Object[].class).getResultList();
+            });
+            for (Object[] row : rows) {
+                add(rebuilt, (Long) row[0], (Integer) row[1], (Long) row[2]);
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                journal = null;
+                stale = true;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            for (Move move : journal) {
+                if (move.fromTeamId() != null) {
+                    add(rebuilt, move.fromTeamId(), move.fromAge(), -1);
+                }
+                if (move.toTeamId() != null) {
+                    add(rebuilt, move.toTeamId(), move.toAge(), 1);
+                }
+            }
+            journal = null;
+            ageCounts.clear();
+            ageCounts.putAll(rebuilt);
+            snapshot.keySet().retainAll(rebuilt.keySet());
+            rebuilt.keySet().forEach(this::publish);
+        }
+        log.info("team stats rebuilt: {} teams in {}ms", rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void publish(Long teamId) {
+        NavigableMap<Integer, Long> counts = ageCounts.get(teamId);
+        if (counts == null) {
+            snapshot.remove(teamId);
+        } else {
+            snapshot.put(teamId, new TeamStats(teamId, counts));
+        }
+    }
+
+    private static void add(Map<Long, NavigableMap<Integer, Long>> target, Long teamId, int age, long delta) {
+        NavigableMap<Integer, Long> counts = target.computeIfAbsent(teamId, id -> new TreeMap<>());
+        counts.merge(age, delta, (a, b) -> a + b == 0 ? null : a + b);
+        if (counts.isEmpty()) {
+            target.remove(teamId);
+        }
+    }
+
+    private record Move(Long fromTeamId, int fromAge, Long toTeamId, int toAge) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.spring.datajpa.repository.async;
+
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 리포지토리 조회를 JDBC 전용 스레드 풀에서 읽기 전용 트랜잭션으로 실행한다.
+ *
+ * 풀 크기는 커넥션 풀보다 작게 두어 비동기 조회가 커넥션을 모두 차지하지 않게 하고,
+ * 대기열이 가득 차면 supply()는 호출한 스레드에서 직접 실행하고(요청이 몰리면 자연스럽게 느려진다.)
+ * stream()은 요청 스레드에서 전체를 읽지 않도록 바로 실패시킨다.
+ * 결과 엔티티는 트랜잭션이 끝난 뒤 돌려주므로 지연 로딩은 사용할 수 없다. (DTO 조회 권장)
+ * 요청 스레드와 다른 스레드에서 실행되므로 요청별 SQL 예산(StatementBudgetFilter)에는 포함되지 않는다.
+ *
+ * virtual 프로필(spring.threads.virtual.enabled=true)에서는 조회를 applicationTaskExecutor의 가상 스레드에서 실행한다.
+ * 동시 실행 수는 spring.task.execution.simple.concurrency-limit(가득 차면 제출한 스레드가 기다린다.)과
+ * ConnectionLimitingDataSource가 제한하므로 전용 풀을 만들지 않는다.
+ */
+@Component
+public class AsyncQueryExecutor implements DisposableBean {
+
+    // 플랫폼 스레드 전용 풀, virtual 프로필이면 null
+    private final ThreadPoolExecutor executor;
+    private final Executor queryExecutor;
+    // stream() 구독자 전달(onNext) 전용, 조회 스레드가 전달을 기다리며 JDBC 풀을 차지하지 않도록 분리한다.
+    private final ThreadPoolExecutor deliveryExecutor;
+    private final TransactionTemplate readOnlyTx;
+    private final int streamBuffer;
+
+    public AsyncQueryExecutor(PlatformTransactionManager transactionManager,
+            @Value("${app.async.pool-size:8}") int poolSize,
+            @Value("${app.async.queue-capacity:100}") int queueCapacity,
+            @Value("${app.async.delivery-pool-size:4}") int deliveryPoolSize,
+            @Value("${app.async.stream-buffer:256}") int streamBuffer,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Qualifier("applicationTaskExecutor") ObjectProvider<AsyncTaskExecutor> applicationTaskExecutor) {
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.streamBuffer = streamBuffer;
+        AsyncTaskExecutor virtualThreadExecutor = virtualThreads ? applicationTaskExecutor.getIfAvailable() : null;
+        if (virtualThreadExecutor != null) {
+            this.executor = null;
+            this.queryExecutor = virtualThreadExecutor;
+        } else {
+            this.executor = newExecutor("jdbc-async-", poolSize, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+            this.queryExecutor = executor;
+        }
+        // onNext는 큐에 넣기만 하므로(BlockingSubscriber) 대기열이 가득 차면 조회 스레드에서 전달해도 된다.
+        // 거절하면 onError 전달도 실패해서 구독자가 끝을 알 수 없다.
+        this.deliveryExecutor = newExecutor("jdbc-async-delivery-", deliveryPoolSize, queueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static ThreadPoolExecutor newExecutor(String namePrefix, int poolSize, int queueCapacity,
+            RejectedExecutionHandler rejectedHandler) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, rejectedHandler);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> query) {
+        Supplier<T> task = () -> readOnlyTx.execute(status -> query.get());
+        try {
+            return CompletableFuture.supplyAsync(task, queryExecutor);
+        } catch (RejectedExecutionException e) {
+            // 대기열이 가득 차면 호출한 스레드에서 실행한다. (CallerRunsPolicy)
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException failure) {
+                return CompletableFuture.failedFuture(failure);
+            }
+        }
+    }
+
+    /**
+     * 구독할 때마다 조회를 시작하고, 구독자가 request(n)한 만큼만 커서에서 읽는다.
+     * 구독자 버퍼(stream-buffer)가 가득 차면 조회 스레드가 기다리고, 구독을 취소하면 조회를 멈추고 커서를 닫는다.
+     * 조회 대기열이 가득 차면 RejectedExecutionException으로 onError를 받는다.
+     * onNext는 전달 전용 풀에서 호출되므로 블로킹 I/O는 BlockingSubscriber로 받아 구독한 쪽 스레드에서 한다.
+     */
+    public <T> Flow.Publisher<T> stream(Supplier<Stream<T>> query) {
+        return subscriber -> {
+            SubmissionPublisher<T> publisher = new SubmissionPublisher<>(deliveryExecutor, streamBuffer);
+            publisher.subscribe(subscriber);
+            Runnable cursor = () -> {
+                try {
+                    readOnlyTx.executeWithoutResult(status -> {
+                        try (Stream<T> rows = query.get()) {
+                            Iterator<T> iterator = rows.iterator();
+                            while (iterator.hasNext() && publisher.hasSubscribers()) {
+                                publisher.submit(iterator.next());
+                            }
+                        }
+                    });
+                    publisher.close();
+                } catch (RuntimeException e) {
+                    publisher.closeExceptionally(e);
+                }
+            };
+            try {
+                queryExecutor.execute(cursor);
+            } catch (RejectedExecutionException e) {
+                publisher.closeExceptionally(e);
+            }
+        };
+    }
+
+    public int getActiveCount() {
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        // applicationTaskExecutor는 Spring이 종료한다.
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        deliveryExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,101 @@
+package com.spring.datajpa.repository.async;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Flow.Publisher를 Iterator로 읽는다. (StreamingResponseBody처럼 블로킹 I/O를 하는 스레드에서 사용)
+ * batch개를 소비할 때마다 batch개를 더 요청하므로 받아 둔 데이터는 batch개를 넘지 않고,
+ * onNext는 큐에 넣기만 해서 전달 스레드가 응답 쓰기를 기다리지 않는다.
+ */
+public class BlockingSubscriber<T> implements Flow.Subscriber<T>, Iterator<T>, AutoCloseable {
+
+    private static final Object COMPLETE = new Object();
+
+    private final int batch;
+    // 요청한 데이터(최대 batch개) + 완료/실패 신호
+    private final BlockingQueue<Object> queue;
+    private final CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+    private volatile boolean closed;
+    private Object next;
+    private int consumed;
+
+    public BlockingSubscriber(int batch) {
+        this.batch = batch;
+        this.queue = new ArrayBlockingQueue<>(batch + 1);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (!this.subscription.complete(subscription) || closed) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(batch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        queue.offer(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        queue.offer(new Failure(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        queue.offer(COMPLETE);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for rows", e);
+            }
+        }
+        if (next instanceof Failure failure) {
+            throw failure.error() instanceof RuntimeException e ? e : new IllegalStateException(failure.error());
+        }
+        return next != COMPLETE;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = (T) next;
+        next = null;
+        if (++consumed == batch) {
+            consumed = 0;
+            subscription.join().request(batch);
+        }
+        return item;
+    }
+
+    /**
+     * 다 읽지 않고 끝내면(응답 쓰기 실패 등) 구독을 취소해서 조회를 멈춘다.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Flow.Subscription current = subscription.getNow(null);
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    private record Failure(Throwable error) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.spring.datajpa.repository.async;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.spring.datajpa.dto.MemberDto;
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.entity.Team;
+import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.repository.TeamRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MemberRepository, TeamRepository 조회를 호출한 스레드를 막지 않고 실행한다.
+ * 서로 관계없는 조회를 동시에 시작하고 CompletableFuture로 조합한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberAsyncRepository {
+
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+    private final AsyncQueryExecutor asyncQueryExecutor;
+
+    public CompletableFuture<List<MemberDto>> findMemberDto() {
+        return asyncQueryExecutor.supply(memberRepository::findMemberDto);
+    }
+
+    public CompletableFuture<List<String>> findUsernameList() {
+        return asyncQueryExecutor.supply(memberRepository::findUsernameList);
+    }
+
+    public CompletableFuture<Page<Member>> findPageByAge(int age, Pageable pageable) {
+        return asyncQueryExecutor.supply(() -> memberRepository.findPageByAge(age, pageable));
+    }
+
+    public CompletableFuture<Page<MemberDto>> findMemberDtoPage(Pageable pageable) {
+        return asyncQueryExecutor.supply(() -> memberRepository.findMemberDtoPage(pageable));
+    }
+
+    public CompletableFuture<Page<Team>> findTeamPageWithMembers(Pageable pageable) {
+        return asyncQueryExecutor.supply(() -> teamRepository.findPageWithMembers(pageable));
+    }
+
+    /**
+     * 전체 회원 DTO를 구독자가 요청한 만큼씩 내보낸다.
+     */
+    public Flow.Publisher<MemberDto> streamMemberDto() {
+        return asyncQueryExecutor.stream(memberRepository::streamMemberDto);
+    }
+}
@@ -0,0 +1,15 @@
+package com.spring.datajpa.repository.count;
+
+/**
+ * Page 조회 시 전체 건수(totalElements)를 구하는 방법
+ */
+public enum CountStrategy {
+    /** 매 요청마다 count 쿼리 실행 (Spring Data 기본 동작) */
+    EXACT,
+    /** 쿼리 + 파라미터 별로 count 결과를 TTL 동안 재사용 */
+    CACHED,
+    /** 엔티티 insert/delete 커밋 시점에 증감하는 카운터 사용 (조건 없는 조회만) */
+    COUNTER,
+    /** DB 통계정보의 예상 row 수 사용 (조건 없는 조회만) */
+    ESTIMATE
+}
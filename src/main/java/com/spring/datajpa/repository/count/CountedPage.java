@@ -0,0 +1,29 @@
+package com.spring.datajpa.repository.count;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import lombok.Getter;
+
+/**
+ * 어떤 방법으로 전체 건수를 구했는지(countStrategy)를 함께 응답하는 Page
+ */
+@Getter
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final CountStrategy countStrategy;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, CountStrategy countStrategy) {
+        super(content, pageable, total);
+        this.countStrategy = countStrategy;
+    }
+
+    // map()으로 DTO 변환 후에도 countStrategy가 유지되도록 한다.
+    @Override
+    public <U> CountedPage<U> map(Function<? super T, ? extends U> converter) {
+        return new CountedPage<>(getConvertedContent(converter), getPageable(), getTotalElements(), countStrategy);
+    }
+}
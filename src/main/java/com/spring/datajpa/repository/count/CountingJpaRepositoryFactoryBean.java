@@ -0,0 +1,42 @@
+package com.spring.datajpa.repository.count;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.data.repository.Repository;
+
+import com.spring.datajpa.metrics.RepositoryMetrics;
+import com.spring.datajpa.metrics.RepositoryMetricsInterceptor;
+
+/**
+ * 모든 JPA 리포지토리 프록시에 RepositoryMetricsInterceptor, TotalCountInterceptor를 차례로 추가한다.
+ * (@EnableJpaRepositories(repositoryFactoryBeanClass = ...)로 등록)
+ */
+public class CountingJpaRepositoryFactoryBean<T extends Repository<S, ID>, S, ID>
+        extends JpaRepositoryFactoryBean<T, S, ID> {
+
+    private ObjectProvider<TotalCountResolver> resolverProvider;
+    private ObjectProvider<RepositoryMetrics> metricsProvider;
+
+    public CountingJpaRepositoryFactoryBean(Class<? extends T> repositoryInterface) {
+        super(repositoryInterface);
+        addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                (proxyFactory, repositoryInformation) -> {
+                    // 메트릭은 Slice로 대체 조회한 경우도 포함해 호출 전체를 잰다.
+                    proxyFactory.addAdvice(new RepositoryMetricsInterceptor(repositoryInformation, metricsProvider));
+                    proxyFactory.addAdvice(new TotalCountInterceptor(
+                            repositoryInformation.getRepositoryInterface(),
+                            repositoryInformation.getDomainType(),
+                            resolverProvider));
+                }));
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        super.setBeanFactory(beanFactory);
+        // 리포지토리 생성 시점에는 아직 만들지 않고, 첫 호출 때 가져온다.
+        this.resolverProvider = beanFactory.getBeanProvider(TotalCountResolver.class);
+        this.metricsProvider = beanFactory.getBeanProvider(RepositoryMetrics.class);
+    }
+}
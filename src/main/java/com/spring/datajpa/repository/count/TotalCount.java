@@ -0,0 +1,30 @@
+package com.spring.datajpa.repository.count;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Page를 반환하는 리포지토리 메서드의 전체 건수 조회 방법을 지정한다.
+ * 건수를 이미 알고 있으면 count 쿼리 없이 sliceMethod로 내용만 조회하고,
+ * 모르면(캐시 miss 등) 원래 메서드를 실행해서 정확한 건수를 얻고 저장해 둔다.
+ *
+ * <pre>
+ * &#64;TotalCount(value = CountStrategy.CACHED, sliceMethod = "findSliceByAge")
+ * Page&lt;Member&gt; findPageByAge(int age, Pageable pageable);
+ * </pre>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TotalCount {
+
+    CountStrategy value() default CountStrategy.EXACT;
+
+    /**
+     * 같은 조건, 같은 파라미터로 Slice를 반환하는 메서드 이름
+     */
+    String sliceMethod();
+}
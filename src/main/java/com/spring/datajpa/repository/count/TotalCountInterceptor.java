@@ -0,0 +1,89 @@
+package com.spring.datajpa.repository.count;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * &#64;TotalCount가 붙은 Page 메서드 호출을 가로채서, 건수를 이미 알면 count 쿼리 없이 Slice로 내용만 조회한다.
+ */
+public class TotalCountInterceptor implements MethodInterceptor {
+
+    private final Class<?> repositoryInterface;
+    private final Class<?> domainType;
+    private final ObjectProvider<TotalCountResolver> resolverProvider;
+    private final Map<Method, Method> sliceMethods = new ConcurrentHashMap<>();
+
+    public TotalCountInterceptor(Class<?> repositoryInterface, Class<?> domainType,
+            ObjectProvider<TotalCountResolver> resolverProvider) {
+        this.repositoryInterface = repositoryInterface;
+        this.domainType = domainType;
+        this.resolverProvider = resolverProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        TotalCount totalCount = AnnotatedElementUtils.findMergedAnnotation(method, TotalCount.class);
+        if (totalCount == null || !Page.class.isAssignableFrom(method.getReturnType())) {
+            return invocation.proceed();
+        }
+
+        TotalCountResolver resolver = resolverProvider.getObject();
+        Object[] args = invocation.getArguments();
+        Pageable pageable = Pageable.unpaged();
+        List<Object> filterArgs = new ArrayList<>();
+        for (Object arg : args) {
+            if (arg instanceof Pageable p) {
+                pageable = p;
+            } else {
+                filterArgs.add(arg);
+            }
+        }
+
+        String key = repositoryInterface.getName() + "." + method.getName() + filterArgs;
+        CountStrategy strategy = resolver.effectiveStrategy(totalCount.value(), !filterArgs.isEmpty());
+        OptionalLong known = resolver.lookup(strategy, key, domainType);
+
+        if (known.isEmpty()) {
+            // 원래 메서드로 내용 + 정확한 건수를 조회하고 다음 요청을 위해 저장한다.
+            Page<?> page = (Page<?>) invocation.proceed();
+            resolver.record(strategy, key, domainType, page.getTotalElements());
+            return new CountedPage<>(new ArrayList<Object>(page.getContent()), page.getPageable(),
+                    page.getTotalElements(), CountStrategy.EXACT);
+        }
+
+        Object proxy = ((ProxyMethodInvocation) invocation).getProxy();
+        Slice<?> slice = (Slice<?>) ReflectionUtils.invokeMethod(sliceMethod(method, totalCount), proxy, args);
+        // 예상치가 실제 조회된 데이터보다 작으면 다음 페이지가 사라지지 않도록 보정한다.
+        long minimum = pageable.isPaged()
+                ? pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0)
+                : slice.getNumberOfElements();
+        return new CountedPage<>(new ArrayList<Object>(slice.getContent()), pageable,
+                Math.max(known.getAsLong(), minimum), strategy);
+    }
+
+    private Method sliceMethod(Method pageMethod, TotalCount totalCount) {
+        return sliceMethods.computeIfAbsent(pageMethod, m -> {
+            Method slice = ReflectionUtils.findMethod(repositoryInterface, totalCount.sliceMethod(), m.getParameterTypes());
+            if (slice == null || !Slice.class.isAssignableFrom(slice.getReturnType())) {
+                throw new IllegalStateException("Slice를 반환하는 " + totalCount.sliceMethod() + " 메서드가 "
+                        + repositoryInterface.getSimpleName() + "에 없습니다.");
+            }
+            return slice;
+        });
+    }
+}
@@ -0,0 +1,236 @@
+package com.spring.datajpa.repository.count;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CountStrategy별로 이미 알고 있는 전체 건수를 찾고(lookup), 정확한 건수를 저장(record)한다.
+ */
+@Slf4j
+@Component
+public class TotalCountResolver implements PostInsertEventListener, PostDeleteEventListener, SmartInitializingSingleton,
+        DisposableBean {
+
+    private final EntityManagerFactory entityManagerFactory;
+    // fast-startup에서는 EntityManagerFactory를 백그라운드로 만드므로 모든 빈이 만들어진 뒤에 꺼낸다.
+    private SessionFactoryImplementor sessionFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTx;
+    private final long cacheTtlNanos;
+    private final int cacheMaxEntries;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+    private final Map<Class<?>, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @param counterResync 이벤트가 없는 변경(벌크 JPQL delete, deleteAllInBatch, 직접 실행한 SQL)을
+     *                      반영하도록 카운터를 다시 세는 주기, 0이면 다시 세지 않는다.
+     */
+    public TotalCountResolver(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.count.cache-ttl:30s}") Duration cacheTtl,
+            @Value("${app.count.cache-max-entries:1000}") int cacheMaxEntries,
+            @Value("${app.count.counter-resync:1m}") Duration counterResync) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        // 호출한 쪽 트랜잭션의 커밋되지 않은 변경이 섞이지 않도록 새 트랜잭션(primary)에서 센다.
+        this.newTx = new TransactionTemplate(transactionManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        this.cacheMaxEntries = cacheMaxEntries;
+        if (counterResync.isZero()) {
+            this.scheduler = null;
+        } else {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "count-resync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::resyncCounters, counterResync.toMillis(), counterResync.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        // 커밋된 insert/delete만 카운터에 반영한다. (롤백된 변경은 제외)
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * 조건(파라미터)이 있는 조회는 엔티티 전체 건수로 대신할 수 없으므로 COUNTER, ESTIMATE를 쓸 수 없다.
+     */
+    public CountStrategy effectiveStrategy(CountStrategy strategy, boolean filtered) {
+        if (filtered && (strategy == CountStrategy.COUNTER || strategy == CountStrategy.ESTIMATE)) {
+            return CountStrategy.EXACT;
+        }
+        return strategy;
+    }
+
+    /**
+     * 이미 알고 있는 건수, 없으면 empty (count 쿼리를 실행해야 한다.)
+     */
+    public OptionalLong lookup(CountStrategy strategy, String key, Class<?> domainType) {
+        switch (strategy) {
+            case CACHED -> {
+                CachedCount cached = cachedCounts.get(key);
+                if (cached == null) {
+                    return OptionalLong.empty();
+                }
+                if (cached.isExpired(System.nanoTime())) {
+                    cachedCounts.remove(key, cached);
+                    return OptionalLong.empty();
+                }
+                return OptionalLong.of(cached.count());
+            }
+            case COUNTER -> {
+                AtomicLong counter = counters.get(domainType);
+                return counter == null ? OptionalLong.empty() : OptionalLong.of(counter.get());
+            }
+            case ESTIMATE -> {
+                return estimate(domainType);
+            }
+            default -> {
+                return OptionalLong.empty();
+            }
+        }
+    }
+
+    /**
+     * exactCount는 호출한 쪽 트랜잭션에서 센 값이므로 CACHED에만 쓴다.
+     * COUNTER는 커밋 이벤트와 겹치지 않도록 커밋된 건수로 새로 시작한다.
+     */
+    public void record(CountStrategy strategy, String key, Class<?> domainType, long exactCount) {
+        if (strategy == CountStrategy.CACHED) {
+            long now = System.nanoTime();
+            if (cachedCounts.size() >= cacheMaxEntries) {
+                evict(now);
+            }
+            cachedCounts.put(key, new CachedCount(exactCount, now + cacheTtlNanos));
+        } else if (strategy == CountStrategy.COUNTER && !counters.containsKey(domainType)) {
+            counters.putIfAbsent(domainType, new AtomicLong(committedCount(domainType)));
+        }
+    }
+
+    /**
+     * 만료된 건수를 지우고, 그래도 가득 차 있으면 임의의 항목을 지워 크기를 cacheMaxEntries 이하로 유지한다.
+     */
+    private void evict(long now) {
+        cachedCounts.values().removeIf(cached -> cached.isExpired(now));
+        Iterator<String> keys = cachedCounts.keySet().iterator();
+        while (cachedCounts.size() >= cacheMaxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * 카운터를 커밋된 건수로 다시 맞춘다.
+     * 세는 동안 커밋된 insert/delete는 한 번 더 반영될 수 있지만 다음 주기에 다시 맞춰진다.
+     */
+    public void resyncCounters() {
+        for (Map.Entry<Class<?>, AtomicLong> entry : counters.entrySet()) {
+            try {
+                entry.getValue().set(committedCount(entry.getKey()));
+            } catch (RuntimeException e) {
+                log.warn("counter resync failed: {}", entry.getKey().getSimpleName(), e);
+            }
+        }
+    }
+
+    private long committedCount(Class<?> domainType) {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(domainType);
+        if (!(persister instanceof AbstractEntityPersister entityPersister)) {
+            throw new IllegalStateException("테이블을 알 수 없는 엔티티입니다: " + domainType.getName());
+        }
+        String sql = "select count(*) from " + entityPersister.getTableName();
+        Long count = newTx.execute(status -> jdbcTemplate.queryForObject(sql, Long.class));
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * H2 INFORMATION_SCHEMA의 예상 row 수, 지원하지 않는 DB면 empty
+     */
+    private OptionalLong estimate(Class<?> domainType) {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(domainType);
+        if (!(persister instanceof AbstractEntityPersister entityPersister)) {
+            return OptionalLong.empty();
+        }
+        try {
+            Long estimate = jdbcTemplate.queryForObject(
+                    "select row_count_estimate from information_schema.tables"
+                            + " where table_schema = schema() and upper(table_name) = upper(?)",
+                    Long.class, entityPersister.getTableName());
+            return estimate == null ? OptionalLong.empty() : OptionalLong.of(estimate);
+        } catch (DataAccessException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        AtomicLong counter = counters.get(event.getEntity().getClass());
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        AtomicLong counter = counters.get(event.getEntity().getClass());
+        if (counter != null) {
+            counter.decrementAndGet();
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private record CachedCount(long count, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.spring.datajpa.repository.warmup;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Parameter;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 시작 시점에 모든 @Query, @NamedQuery, 메서드 이름 쿼리를 미리 파싱/실행해서
+ * HQL -> SQL 변환 결과(query plan cache)와 커넥션 풀, JIT를 데워 둔다.
+ * 쿼리마다 빈 파라미터로 두 번 실행해서 첫 실행(cold)과 두 번째 실행(warm) 시간 차이를 로그로 남긴다.
+ *
+ * 읽기 전용 트랜잭션을 rollback-only로 열고 실행하며, @Modifying 쿼리와 update/delete NamedQuery는 파싱만 한다.
+ * 결과 건수를 1건으로 제한할 수 없는 메서드(Pageable, Limit 파라미터나 top/first 없이 List, Stream 등을 반환)는
+ * 테이블 전체를 읽지 않도록 @Query만 파싱하고 실행하지 않는다.
+ * 실패한 쿼리는 건너뛰고 애플리케이션 시작을 막지 않는다.
+ */
+@Slf4j
+public class QueryWarmup implements ApplicationRunner {
+
+    private static final int REPORT_TOP = 5;
+
+    private final ListableBeanFactory beanFactory;
+    private final EntityManager em;
+    private final TransactionTemplate readOnlyTx;
+
+    @Getter
+    private final List<Result> results = new ArrayList<>();
+
+    public QueryWarmup(ListableBeanFactory beanFactory, EntityManager em, PlatformTransactionManager transactionManager) {
+        this.beanFactory = beanFactory;
+        this.em = em;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        warmupRepositories();
+        warmupNamedQueries();
+
+        long coldNanos = results.stream().mapToLong(Result::getColdNanos).sum();
+        long warmNanos = results.stream().mapToLong(Result::getWarmNanos).sum();
+        String slowest = results.stream()
+                .sorted(Comparator.comparingLong(Result::getColdNanos).reversed())
+                .limit(REPORT_TOP)
+                .map(r -> r.getName() + "=" + toMillis(r.getColdNanos()) + "ms")
+                .collect(Collectors.joining(", "));
+        log.info("query warm-up {} queries ({} failed) in {}ms, first run {}ms -> second run {}ms, slowest first runs [{}]",
+                results.size(), results.stream().filter(Result::isFailed).count(), toMillis(System.nanoTime() - start),
+                toMillis(coldNanos), toMillis(warmNanos), slowest);
+    }
+
+    /**
+     * Spring Data 리포지토리의 쿼리 메서드(@Query, NamedQuery, 메서드 이름 쿼리)를 프록시를 통해 호출한다.
+     */
+    private void warmupRepositories() {
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            Object repository = repositories.getRepositoryFor(domainType).orElse(null);
+            if (repository == null) {
+                continue;
+            }
+            for (Method method : information.getQueryMethods()) {
+                String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                if (AnnotatedElementUtils.hasAnnotation(method, Modifying.class) || isDeleteMethod(method)) {
+                    Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+                    if (query != null && !query.nativeQuery() && !query.value().isEmpty()) {
+                        measure(name, false, () -> em.createQuery(query.value()));
+                    }
+                    continue;
+                }
+                if (!isLimited(method, domainType)) {
+                    Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+                    if (query != null && !query.nativeQuery() && !query.value().isEmpty()) {
+                        measure(name, false, () -> em.createQuery(query.value()));
+                    }
+                    continue;
+                }
+                Object[] args = defaultArguments(method, domainType);
+                measure(name, true, () -> invoke(repository, method, args));
+            }
+        }
+    }
+
+    /**
+     * 엔티티에 선언된 NamedQuery (MemberJpaRepository, TeamJpaRepository가 사용한다.)
+     */
+    private void warmupNamedQueries() {
+        for (EntityType<?> entity : em.getMetamodel().getEntities()) {
+            Class<?> type = entity.getJavaType();
+            for (NamedQuery named : type.getAnnotationsByType(NamedQuery.class)) {
+                warmupNamedQuery(named.name(), named.query());
+            }
+            for (org.hibernate.annotations.NamedQuery named : type.getAnnotationsByType(org.hibernate.annotations.NamedQuery.class)) {
+                warmupNamedQuery(named.name(), named.query());
+            }
+        }
+    }
+
+    private void warmupNamedQuery(String name, String hql) {
+        String statement = hql.stripLeading().toLowerCase();
+        boolean select = !statement.startsWith("update") && !statement.startsWith("delete") && !statement.startsWith("insert");
+        measure(name, select, () -> {
+            jakarta.persistence.Query query = em.createNamedQuery(name);
+            if (select) {
+                for (Parameter<?> parameter : query.getParameters()) {
+                    bindNull(query, parameter);
+                }
+                query.setMaxResults(1).getResultList();
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void bindNull(jakarta.persistence.Query query, Parameter<?> parameter) {
+        query.setParameter((Parameter<Object>) parameter, null);
+    }
+
+    /**
+     * 첫 실행과 두 번째 실행 시간을 잰다. execute가 false면 파싱만 하므로 한 번만 실행한다.
+     */
+    private void measure(String name, boolean execute, Runnable action) {
+        long cold = 0;
+        long warm = 0;
+        boolean failed = false;
+        try {
+            cold = runInReadOnlyTx(action);
+            warm = execute ? runInReadOnlyTx(action) : 0;
+        } catch (RuntimeException e) {
+            failed = true;
+            log.debug("query warm-up failed: {}", name, e);
+        }
+        results.add(new Result(name, cold, warm, failed));
+    }
+
+    private long runInReadOnlyTx(Runnable action) {
+        return readOnlyTx.execute(status -> {
+            status.setRollbackOnly();
+            long start = System.nanoTime();
+            action.run();
+            return System.nanoTime() - start;
+        });
+    }
+
+    private static void invoke(Object repository, Method method, Object[] args) {
+        try {
+            Object result = method.invoke(repository, args);
+            if (result instanceof Stream<?> stream) {
+                stream.close();
+            }
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 기본 인자로 실행했을 때 최대 1건(또는 집계 값)만 읽는 메서드인지
+     */
+    private static boolean isLimited(Method method, Class<?> domainType) {
+        for (Class<?> type : method.getParameterTypes()) {
+            if (Pageable.class.isAssignableFrom(type) || type == Limit.class) {
+                return true;
+            }
+        }
+        Class<?> returnType = method.getReturnType();
+        boolean multiple = Iterable.class.isAssignableFrom(returnType) || Stream.class.isAssignableFrom(returnType)
+                || returnType.isArray();
+        if (!multiple) {
+            return true;
+        }
+        if (AnnotatedElementUtils.hasAnnotation(method, Query.class)) {
+            return false;
+        }
+        try {
+            return new PartTree(method.getName(), domainType).isLimiting();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean isDeleteMethod(Method method) {
+        return method.getName().startsWith("delete") || method.getName().startsWith("remove");
+    }
+
+    /**
+     * 결과가 없어도 되는 빈 파라미터: 숫자는 0, 문자열은 "", 페이징은 1건, 컬렉션/배열은 비어 있는 값
+     */
+    private static Object[] defaultArguments(Method method, Class<?> domainType) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = defaultValue(types[i], domainType);
+        }
+        return args;
+    }
+
+    private static Object defaultValue(Class<?> type, Class<?> domainType) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type.isPrimitive() || Number.class.isAssignableFrom(type)) {
+            return switch (type.getSimpleName().toLowerCase()) {
+                case "long" -> 0L;
+                case "double" -> 0d;
+                case "float" -> 0f;
+                case "short" -> (short) 0;
+                case "byte" -> (byte) 0;
+                default -> 0;
+            };
+        }
+        if (type == String.class) {
+            return "";
+        }
+        if (Pageable.class.isAssignableFrom(type)) {
+            return PageRequest.of(0, 1);
+        }
+        if (type == Sort.class) {
+            return Sort.unsorted();
+        }
+        if (type == Limit.class) {
+            return Limit.of(1);
+        }
+        if (ScrollPosition.class.isAssignableFrom(type)) {
+            return ScrollPosition.keyset();
+        }
+        if (Set.class.isAssignableFrom(type)) {
+            return Set.of();
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of();
+        }
+        if (type.isArray()) {
+            return Array.newInstance(type.getComponentType(), 0);
+        }
+        if (type == Class.class) {
+            return domainType;
+        }
+        return null;
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Result {
+        private final String name;
+        private final long coldNanos;
+        private final long warmNanos;
+        private final boolean failed;
+    }
+}
@@ -0,0 +1,76 @@
+package com.spring.datajpa.retry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+
+/**
+ * 작업(operation) 하나의 충돌/재시도 누적 통계
+ */
+public class ContentionStats {
+
+    @Getter
+    private final String operation;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder backoffNanos = new LongAdder();
+
+    ContentionStats(String operation) {
+        this.operation = operation;
+    }
+
+    void recordCall() {
+        calls.increment();
+    }
+
+    void recordAttempt() {
+        attempts.increment();
+    }
+
+    void recordConflict() {
+        conflicts.increment();
+    }
+
+    void recordExhausted() {
+        exhausted.increment();
+    }
+
+    void recordBackoff(long nanos) {
+        backoffNanos.add(nanos);
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * 낙관적 락 버전 충돌, 락 대기 시간 초과 등으로 실패한 시도 수
+     */
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    /**
+     * 재시도 횟수를 모두 쓰고 실패한 호출 수
+     */
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+
+    public double getConflictRate() {
+        long n = attempts.sum();
+        return n == 0 ? 0 : conflicts.sum() / (double) n;
+    }
+
+    public double getBackoffMillis() {
+        return backoffNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
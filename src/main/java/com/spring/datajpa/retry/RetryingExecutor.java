@@ -0,0 +1,100 @@
+package com.spring.datajpa.retry;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 쓰기 작업을 새 트랜잭션에서 실행하고, 동시성 충돌(@Version 불일치, 락 대기 시간 초과 등
+ * ConcurrencyFailureException)이면 backoff 후 처음부터 다시 실행한다.
+ *
+ * 시도마다 새 트랜잭션(영속성 컨텍스트)이므로 action 안에서 엔티티를 다시 조회해야 한다.
+ * backoff는 min(maxBackoff, initialBackoff * 2^(시도-1)) 안에서 무작위로 골라(full jitter) 재시도가 몰리지 않게 한다.
+ */
+@Slf4j
+@Component
+public class RetryingExecutor {
+
+    private final TransactionTemplate requiresNewTx;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private final Map<String, ContentionStats> stats = new ConcurrentHashMap<>();
+
+    public RetryingExecutor(PlatformTransactionManager transactionManager,
+            @Value("${app.retry.max-attempts:5}") int maxAttempts,
+            @Value("${app.retry.initial-backoff:5ms}") Duration initialBackoff,
+            @Value("${app.retry.max-backoff:200ms}") Duration maxBackoff) {
+        this.requiresNewTx = new TransactionTemplate(transactionManager);
+        this.requiresNewTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        ContentionStats operationStats = stats.computeIfAbsent(operation, ContentionStats::new);
+        operationStats.recordCall();
+        for (int attempt = 1; ; attempt++) {
+            operationStats.recordAttempt();
+            try {
+                return requiresNewTx.execute(status -> action.get());
+            } catch (ConcurrencyFailureException e) {
+                operationStats.recordConflict();
+                if (attempt >= maxAttempts) {
+                    operationStats.recordExhausted();
+                    log.warn("{} failed after {} attempts", operation, attempt);
+                    throw e;
+                }
+                backoff(operationStats, attempt, e);
+            }
+        }
+    }
+
+    public void run(String operation, Runnable action) {
+        execute(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void backoff(ContentionStats operationStats, int attempt, ConcurrencyFailureException cause) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        long sleepNanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        operationStats.recordBackoff(sleepNanos);
+        try {
+            TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    /**
+     * 충돌이 많은 순서
+     */
+    public List<ContentionStats> getStats() {
+        return stats.values().stream()
+                .sorted(Comparator.comparingLong(ContentionStats::getConflicts).reversed())
+                .toList();
+    }
+
+    public ContentionStats getStats(String operation) {
+        return stats.computeIfAbsent(operation, ContentionStats::new);
+    }
+}
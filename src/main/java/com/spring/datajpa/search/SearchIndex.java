@@ -0,0 +1,297 @@
+package com.spring.datajpa.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * 이름(username, team name) -> id 메모리 색인
+ *
+ * - terms: 정렬된 단어 -> id 배열. 접두어 검색은 subMap 범위 조회 (trie와 같은 역할)
+ * - grams: trigram -> 단어. 포함/오타 검색의 후보를 좁힌다.
+ * - values: id -> 원래 값. 변경/삭제 시 이전 단어를 지우는 데 사용한다.
+ *
+ * 변경은 synchronized로 한 번에 하나씩, 검색은 잠금 없이 동시 컬렉션을 읽는다.
+ * (변경 도중의 검색은 일부만 반영된 결과를 볼 수 있다.)
+ * 포함/오타 검색은 trigram 후보만 비교하므로 MIN_QUERY_LENGTH자 이상이어야 하고, 후보는 MAX_CANDIDATES개까지만 본다.
+ */
+public class SearchIndex {
+
+    private static final int GRAM = 3;
+    // 포함/오타 검색어 최소 길이 (trigram 하나 이상)
+    public static final int MIN_QUERY_LENGTH = GRAM;
+    // 포함/오타 검색에서 비교하는 최대 단어 수
+    static final int MAX_CANDIDATES = 10_000;
+    private static final Pattern TOKEN_DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long[] EMPTY = new long[0];
+
+    private final NavigableMap<String, long[]> terms = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> grams = new ConcurrentHashMap<>();
+    private final Map<Long, String> values = new ConcurrentHashMap<>();
+
+    public synchronized void put(long id, String value) {
+        String previous = values.get(id);
+        if (Objects.equals(previous, value)) {
+            return;
+        }
+        if (previous != null) {
+            removeTerms(id, previous);
+        }
+        if (value == null) {
+            values.remove(id);
+            return;
+        }
+        values.put(id, value);
+        for (String term : terms(value)) {
+            long[] ids = terms.getOrDefault(term, EMPTY);
+            if (ids.length == 0) {
+                for (String gram : grams(term)) {
+                    grams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(term);
+                }
+            }
+            terms.put(term, insert(ids, id));
+        }
+    }
+
+    public synchronized void remove(long id) {
+        String previous = values.remove(id);
+        if (previous != null) {
+            removeTerms(id, previous);
+        }
+    }
+
+    private void removeTerms(long id, String value) {
+        for (String term : terms(value)) {
+            long[] ids = delete(terms.getOrDefault(term, EMPTY), id);
+            if (ids.length > 0) {
+                terms.put(term, ids);
+                continue;
+            }
+            terms.remove(term);
+            for (String gram : grams(term)) {
+                Set<String> gramTerms = grams.get(gram);
+                if (gramTerms != null) {
+                    gramTerms.remove(term);
+                    if (gramTerms.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public int getTermCount() {
+        return terms.size();
+    }
+
+    /**
+     * 검색 결과 id, 단어 순서(오타 검색은 편집 거리, 단어 순서)로 정렬하고 같은 id는 한 번만 포함한다.
+     * 전체 건수는 세지 않고 요청한 페이지 + 1건까지만 모아서 다음 페이지 여부를 판단한다.
+     */
+    public Slice<Long> search(String query, SearchMode mode, Pageable pageable) {
+        String q = normalize(query);
+        if (q.isEmpty() || (mode != SearchMode.PREFIX && q.length() < MIN_QUERY_LENGTH)) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        Collection<String> matched = switch (mode) {
+            case PREFIX -> terms.subMap(q, true, q + Character.MAX_VALUE, false).keySet();
+            case CONTAINS -> containing(q);
+            case FUZZY -> similar(q);
+        };
+
+        long limit = pageable.isUnpaged() ? Long.MAX_VALUE : pageable.getOffset() + pageable.getPageSize() + 1;
+        List<Long> ids = collect(matched, limit);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(ids, pageable, false);
+        }
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return new SliceImpl<>(ids.subList(from, to), pageable, ids.size() > to);
+    }
+
+    /**
+     * 단어 순서대로 id를 limit개까지 모은다. (중복 제외)
+     */
+    private List<Long> collect(Collection<String> matched, long limit) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String term : matched) {
+            for (long id : terms.getOrDefault(term, EMPTY)) {
+                ids.add(id);
+                if (ids.size() >= limit) {
+                    return new ArrayList<>(ids);
+                }
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private List<String> containing(String q) {
+        return gramCandidates(q).stream()
+                .filter(term -> term.contains(q))
+                .sorted()
+                .limit(MAX_CANDIDATES)
+                .toList();
+    }
+
+    /**
+     * 편집 거리가 d 이내인 두 문자열은 trigram을 최소 (길이 - 2 - 3d)개 공유한다.
+     * 검색어가 짧아 이 하한이 0 이하면 trigram을 하나 이상 공유하거나 첫 글자가 같은 단어만 비교한다.
+     * (첫 세 글자 안에 오타가 있는 짧은 단어는 찾지 못할 수 있다.)
+     * 공유하는 trigram이 많은 순으로 MAX_CANDIDATES개까지만 편집 거리를 계산한다.
+     */
+    private List<String> similar(String q) {
+        int maxDistance = q.length() <= 4 ? 1 : 2;
+        int minShared = Math.max(1, q.length() - GRAM + 1 - maxDistance * GRAM);
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams(q)) {
+            for (String term : grams.getOrDefault(gram, Set.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+        Set<String> candidates = new LinkedHashSet<>();
+        shared.entrySet().stream()
+                .filter(e -> e.getValue() >= minShared)
+                .sorted(Map.Entry.<String, Integer> comparingByValue().reversed())
+                .limit(MAX_CANDIDATES)
+                .forEach(e -> candidates.add(e.getKey()));
+        if (q.length() - GRAM + 1 - maxDistance * GRAM <= 0) {
+            String first = q.substring(0, 1);
+            terms.subMap(first, true, first + Character.MAX_VALUE, false).keySet().stream()
+                    .filter(term -> Math.abs(term.length() - q.length()) <= maxDistance)
+                    .limit(Math.max(0, MAX_CANDIDATES - candidates.size()))
+                    .forEach(candidates::add);
+        }
+
+        record Match(String term, int distance) {
+        }
+        return candidates.stream()
+                .filter(term -> Math.abs(term.length() - q.length()) <= maxDistance)
+                .map(term -> new Match(term, distance(q, term, maxDistance)))
+                .filter(match -> match.distance() <= maxDistance)
+                .sorted(Comparator.comparingInt(Match::distance).thenComparing(Match::term))
+                .map(Match::term)
+                .toList();
+    }
+
+    /**
+     * 검색어의 trigram을 모두 가진 단어 (가장 적은 집합부터 교집합)
+     */
+    private Collection<String> gramCandidates(String q) {
+        List<Set<String>> sets = new ArrayList<>();
+        for (String gram : grams(q)) {
+            Set<String> gramTerms = grams.get(gram);
+            if (gramTerms == null) {
+                return List.of();
+            }
+            sets.add(gramTerms);
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+        List<String> result = new ArrayList<>(sets.get(0));
+        for (int i = 1; i < sets.size() && !result.isEmpty(); i++) {
+            result.retainAll(sets.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * 전체 값과, 구분자(공백, _, - 등)로 나눈 토큰
+     */
+    static Set<String> terms(String value) {
+        String normalized = normalize(value);
+        Set<String> result = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return result;
+        }
+        result.add(normalized);
+        for (String token : TOKEN_DELIMITER.split(normalized)) {
+            if (!token.isEmpty()) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> grams(String term) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            result.add(term.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Levenshtein 거리, max를 넘으면 계산을 멈추고 max + 1
+     */
+    static int distance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+        int at = -index - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, at);
+        result[at] = id;
+        System.arraycopy(ids, at, result, at + 1, ids.length - at);
+        return result;
+    }
+
+    private static long[] delete(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        System.arraycopy(ids, index + 1, result, index, ids.length - index - 1);
+        return result;
+    }
+}
@@ -0,0 +1,179 @@
+package com.spring.datajpa.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spring.datajpa.dto.NameView;
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.entity.Team;
+import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.repository.TeamRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Member.username, Team.name 검색 색인
+ *
+ * 커밋된 insert/update/delete 이벤트로 색인을 바로 고치고, rebuild()는 DB 전체를 새 색인에 읽어서 교체한다.
+ * JPQL bulk update/delete는 이벤트가 발생하지 않으므로 이름을 바꾸는 bulk 연산 뒤에는 rebuild()가 필요하다.
+ */
+@Slf4j
+public class SearchIndexer implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final RebuildableIndex members = new RebuildableIndex();
+    private final RebuildableIndex teams = new RebuildableIndex();
+
+    public SearchIndexer(EntityManagerFactory entityManagerFactory, MemberRepository memberRepository,
+            TeamRepository teamRepository, PlatformTransactionManager transactionManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.memberRepository = memberRepository;
+        this.teamRepository = teamRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * 모든 빈이 만들어진 뒤에 등록해서 fast-startup의 백그라운드 EntityManagerFactory 생성을 빈 생성 중에 기다리지 않는다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        // 커밋된 변경만 색인에 반영한다. (롤백된 변경은 제외)
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    public Slice<Long> searchMembers(String query, SearchMode mode, Pageable pageable) {
+        return members.current.search(query, mode, pageable);
+    }
+
+    public Slice<Long> searchTeams(String query, SearchMode mode, Pageable pageable) {
+        return teams.current.search(query, mode, pageable);
+    }
+
+    public int getMemberCount() {
+        return members.current.size();
+    }
+
+    public int getTeamCount() {
+        return teams.current.size();
+    }
+
+    /**
+     * DB 전체를 읽어 새 색인을 만들고 교체한다. 읽는 동안 들어온 변경은 모아 두었다가 새 색인에 다시 적용한다.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        members.rebuild(() -> readOnlyTx.execute(status -> load(memberRepository.findMemberNamesBy())));
+        teams.rebuild(() -> readOnlyTx.execute(status -> load(teamRepository.findTeamNamesBy())));
+        log.info("search index rebuilt: {} members, {} teams in {}ms", getMemberCount(), getTeamCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static SearchIndex load(Stream<NameView> names) {
+        SearchIndex index = new SearchIndex();
+        try (names) {
+            names.forEach(name -> index.put(name.getId(), name.getName()));
+        }
+        return index;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        index(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        index(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            members.apply(index -> index.remove(member.getId()));
+        } else if (event.getEntity() instanceof Team team) {
+            teams.apply(index -> index.remove(team.getId()));
+        }
+    }
+
+    private void index(Object entity) {
+        if (entity instanceof Member member) {
+            members.apply(index -> index.put(member.getId(), member.getUsername()));
+        } else if (entity instanceof Team team) {
+            teams.apply(index -> index.put(team.getId(), team.getName()));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    /**
+     * 검색은 current를 그대로 읽고, 변경은 current에 적용하면서 재생성 중이면 journal에도 남긴다.
+     */
+    static class RebuildableIndex {
+
+        volatile SearchIndex current = new SearchIndex();
+        private List<Consumer<SearchIndex>> journal;
+
+        synchronized void apply(Consumer<SearchIndex> change) {
+            change.accept(current);
+            if (journal != null) {
+                journal.add(change);
+            }
+        }
+
+        void rebuild(Supplier<SearchIndex> loader) {
+            synchronized (this) {
+                if (journal != null) {
+                    throw new IllegalStateException("search index rebuild is already running");
+                }
+                journal = new ArrayList<>();
+            }
+            SearchIndex rebuilt;
+            try {
+                rebuilt = loader.get();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    journal = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                journal.forEach(change -> change.accept(rebuilt));
+                journal = null;
+                current = rebuilt;
+            }
+        }
+    }
+}
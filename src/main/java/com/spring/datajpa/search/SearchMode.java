@@ -0,0 +1,10 @@
+package com.spring.datajpa.search;
+
+public enum SearchMode {
+    // 단어(전체 값, 구분자로 나눈 토큰)가 검색어로 시작
+    PREFIX,
+    // 검색어를 포함 (LIKE '%검색어%'), trigram 색인으로 후보를 좁힌다.
+    CONTAINS,
+    // 편집 거리 1 (검색어 5자 이상이면 2) 이내
+    FUZZY
+}
@@ -0,0 +1,55 @@
+package com.spring.datajpa.service;
+
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.entity.Team;
+import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.repository.TeamRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Member, Team 대량 적재
+ * member.save()를 한 건씩 호출하는 대신 JDBC batch + 주기적인 flush/clear로 저장한다.
+ */
+@Slf4j
+@Service
+public class MemberBulkImportService {
+
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+    private final int batchSize;
+
+    public MemberBulkImportService(MemberRepository memberRepository, TeamRepository teamRepository,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.memberRepository = memberRepository;
+        this.teamRepository = teamRepository;
+        this.batchSize = batchSize;
+    }
+
+    public long importTeams(Stream<Team> teams) {
+        return logThroughput("team", () -> teamRepository.saveAllInBatches(teams, batchSize));
+    }
+
+    /**
+     * Member 생성자에서 team을 넘기면 team.getMembers()에도 추가되므로,
+     * 대량 적재 시에는 같은 Team 인스턴스에 member가 계속 쌓이지 않도록 주의한다.
+     */
+    public long importMembers(Stream<Member> members) {
+        return logThroughput("member", () -> memberRepository.saveAllInBatches(members, batchSize));
+    }
+
+    private long logThroughput(String name, LongSupplier task) {
+        long start = System.nanoTime();
+        long rows = task.getAsLong();
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+        log.info("{} bulk import: {} rows, {} ms, {} rows/s", name, rows, elapsedNanos / 1_000_000,
+                rows * 1_000_000_000L / elapsedNanos);
+        return rows;
+    }
+}
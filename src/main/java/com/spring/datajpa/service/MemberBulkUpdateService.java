@@ -0,0 +1,241 @@
+package com.spring.datajpa.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spring.datajpa.dto.BulkUpdateProgress;
+import com.spring.datajpa.entity.BulkUpdateChunk;
+import com.spring.datajpa.entity.BulkUpdateJob;
+import com.spring.datajpa.entity.BulkUpdateStatus;
+import com.spring.datajpa.repository.BulkUpdateChunkRepository;
+import com.spring.datajpa.repository.BulkUpdateJobRepository;
+import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.repository.TeamStatsRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * bulkAgePlus를 id 구간(chunk)으로 나누어 실행한다.
+ * 구간은 실제로 있는 id를 keyset으로 chunkSize개씩 건너뛰며 나누므로, id 사이가 비어 있어도(BlockSequence) 빈 구간이 생기지 않는다.
+ * 구간마다 별도 트랜잭션으로 짧게 커밋해서 row lock을 오래 잡지 않고, 최대 parallelism개 구간을 동시에 실행한다.
+ * 호출하는 쪽 트랜잭션과 lock이 충돌하지 않도록 트랜잭션 밖에서 호출한다.
+ */
+@Slf4j
+@Service
+public class MemberBulkUpdateService {
+
+    private static final String AGE_PLUS = "member.agePlus";
+
+    private final MemberRepository memberRepository;
+    private final BulkUpdateJobRepository jobRepository;
+    private final BulkUpdateChunkRepository chunkRepository;
+    private final TeamStatsRepository teamStatsRepository;
+    private final TransactionTemplate chunkTx;
+    private final int chunkSize;
+    private final int parallelism;
+
+    private final Map<Long, BulkUpdateProgress> running = new ConcurrentHashMap<>();
+
+    public MemberBulkUpdateService(MemberRepository memberRepository, BulkUpdateJobRepository jobRepository,
+            BulkUpdateChunkRepository chunkRepository, TeamStatsRepository teamStatsRepository, PlatformTransactionManager transactionManager,
+            @Value("${app.bulk-update.chunk-size:10000}") int chunkSize,
+            @Value("${app.bulk-update.parallelism:4}") int parallelism) {
+        this.memberRepository = memberRepository;
+        this.jobRepository = jobRepository;
+        this.chunkRepository = chunkRepository;
+        this.teamStatsRepository = teamStatsRepository;
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        this.chunkTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * age 이상인 회원의 나이를 1 올린다. (MemberRepository.bulkAgePlus와 같은 결과)
+     * 실패하면 예외에 담긴 jobId로 resume 할 수 있다.
+     */
+    public BulkUpdateProgress bulkAgePlus(int age) {
+        // replica는 복제 지연이 있을 수 있으므로 대상 범위는 primary(읽기/쓰기 트랜잭션)에서 구한다.
+        long[] range = chunkTx.execute(status -> {
+            Long min = memberRepository.findMinIdByAgeAtLeast(age);
+            return min == null ? null : new long[] { min, memberRepository.findMaxIdByAgeAtLeast(age) };
+        });
+        if (range == null) {
+            return new BulkUpdateProgress(null, 0, 0, 0);
+        }
+        BulkUpdateJob job = chunkTx.execute(status ->
+                jobRepository.save(new BulkUpdateJob(AGE_PLUS, age, range[0], range[1], chunkSize)));
+        return execute(job);
+    }
+
+    /**
+     * 실패한 작업에서 완료되지 않은 구간만 이어서 실행한다.
+     */
+    public BulkUpdateProgress resume(Long jobId) {
+        BulkUpdateJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("bulk update 작업이 없습니다: " + jobId));
+        if (job.getStatus() == BulkUpdateStatus.COMPLETED) {
+            int totalChunks = chunkRepository.findByJobIdOrderByFromId(jobId).size();
+            return new BulkUpdateProgress(jobId, totalChunks, totalChunks, chunkRepository.sumUpdatedRows(jobId));
+        }
+        return execute(job);
+    }
+
+    public Optional<BulkUpdateProgress> findProgress(Long jobId) {
+        return Optional.ofNullable(running.get(jobId));
+    }
+
+    private BulkUpdateProgress execute(BulkUpdateJob job) {
+        List<BulkUpdateChunk> chunks = chunkRepository.findByJobIdOrderByFromId(job.getId());
+        // lastId 뒤에 이전 실행에서 완료된 구간 (from -> to)
+        NavigableMap<Long, Long> completed = new TreeMap<>();
+        chunks.stream()
+                .filter(chunk -> chunk.getFromId() > job.getLastId())
+                .forEach(chunk -> completed.put(chunk.getFromId(), chunk.getToId()));
+        List<long[]> partitions = partitions(job, completed);
+        BulkUpdateProgress progress = new BulkUpdateProgress(job.getId(), chunks.size() + partitions.size(),
+                chunks.size(), chunkRepository.sumUpdatedRows(job.getId()));
+        running.put(job.getId(), progress);
+
+        AtomicBoolean failed = new AtomicBoolean();
+        LastIdTracker lastId = new LastIdTracker(partitions);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < partitions.size(); i++) {
+            int index = i;
+            futures.add(executor.submit(() -> runChunk(job, index, partitions.get(index), lastId, progress, failed)));
+        }
+        executor.shutdown();
+
+        Throwable failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.set(true);
+                failure = failure == null ? e : failure;
+            }
+        }
+        running.remove(job.getId());
+
+        // Member는 2차 캐시 대상이 아니고, 쿼리 캐시는 update 실행 시 Hibernate가 member 테이블 기준으로 무효화한다.
+        // bulk update는 엔티티 이벤트가 없으므로 팀 통계는 다시 집계한다. (실패해도 일부 구간은 반영됐다.)
+        // 집계가 실패해도 작업 상태는 기록하고, 통계는 stale로 남겨 다음 rebuild()에 맡긴다.
+        teamStatsRepository.markStale();
+        try {
+            teamStatsRepository.rebuild();
+        } catch (RuntimeException e) {
+            log.warn("team stats rebuild after bulk update {} failed", job, e);
+        }
+
+        BulkUpdateStatus status = failure == null ? BulkUpdateStatus.COMPLETED : BulkUpdateStatus.FAILED;
+        chunkTx.executeWithoutResult(tx -> jobRepository.findById(job.getId()).ifPresent(j -> j.changeStatus(status)));
+        if (failure != null) {
+            throw new IllegalStateException("bulk update 실패, resume(" + job.getId() + ")로 이어서 실행할 수 있습니다. "
+                    + progress.getCompletedChunks() + "/" + progress.getTotalChunks() + " chunks", failure);
+        }
+        log.info("bulk update {} 완료: {} rows, {} rows/s", job, progress.getUpdatedRows(), progress.getRowsPerSecond());
+        return progress;
+    }
+
+    private void runChunk(BulkUpdateJob job, int index, long[] range, LastIdTracker lastId, BulkUpdateProgress progress,
+            AtomicBoolean failed) {
+        if (failed.get()) {
+            return; // 다른 구간이 실패하면 남은 구간은 resume 때 실행
+        }
+        try {
+            Integer rows = chunkTx.execute(status -> {
+                int updated = memberRepository.bulkAgePlusBetween(job.getAge(), range[0], range[1]);
+                chunkRepository.save(new BulkUpdateChunk(job.getId(), range[0], range[1], updated));
+                return updated;
+            });
+            progress.chunkCompleted(rows);
+            long completedUpTo = lastId.completed(index);
+            if (completedUpTo > job.getLastId()) {
+                chunkTx.executeWithoutResult(status -> jobRepository.advanceLastId(job.getId(), completedUpTo));
+            }
+            log.info("bulk update job {}: {}/{} chunks, {} rows, {} rows/s", job.getId(),
+                    progress.getCompletedChunks(), progress.getTotalChunks(), progress.getUpdatedRows(),
+                    progress.getRowsPerSecond());
+        } catch (RuntimeException e) {
+            failed.set(true);
+            throw e;
+        }
+    }
+
+    /**
+     * (lastId, toId] 범위를 실제로 있는 id 기준 chunkSize개씩 구간으로 나눈다. (양 끝 포함)
+     * 구간 경계는 lastId 다음부터 chunkSize번째 id이고, 이전 실행에서 완료된 구간은 건너뛴다.
+     * 경계를 구하는 동안 추가된 id도 어느 구간이든 포함되도록 구간은 빈틈없이 이어진다.
+     */
+    private List<long[]> partitions(BulkUpdateJob job, NavigableMap<Long, Long> completed) {
+        // 복제 지연이 없도록 primary(읽기/쓰기 트랜잭션)에서 조회한다.
+        return chunkTx.execute(status -> {
+            List<long[]> partitions = new ArrayList<>();
+            long last = job.getLastId();
+            while (last < job.getToId()) {
+                Map.Entry<Long, Long> done = completed.floorEntry(last + 1);
+                if (done != null && done.getValue() > last) {
+                    last = done.getValue();
+                    continue;
+                }
+                List<Long> end = memberRepository.findIdsAfter(last, job.getToId(),
+                        PageRequest.of(job.getChunkSize() - 1, 1));
+                long to = end.isEmpty() ? job.getToId() : end.get(0);
+                Long nextDone = completed.ceilingKey(last + 1);
+                if (nextDone != null && nextDone <= to) {
+                    to = nextDone - 1;
+                }
+                partitions.add(new long[] { last + 1, to });
+                last = to;
+            }
+            return partitions;
+        });
+    }
+
+    /**
+     * 순서와 상관없이 완료되는 구간에서, 앞에서부터 빠짐없이 완료된 마지막 id를 구한다.
+     */
+    private static class LastIdTracker {
+
+        private final List<long[]> partitions;
+        private final boolean[] done;
+        private int next;
+
+        LastIdTracker(List<long[]> partitions) {
+            this.partitions = partitions;
+            this.done = new boolean[partitions.size()];
+        }
+
+        /**
+         * @return 앞에서부터 연속으로 완료된 마지막 구간의 toId, 없으면 Long.MIN_VALUE
+         */
+        synchronized long completed(int index) {
+            done[index] = true;
+            while (next < done.length && done[next]) {
+                next++;
+            }
+            return next == 0 ? Long.MIN_VALUE : partitions.get(next - 1)[1];
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.spring.datajpa.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spring.datajpa.dto.MemberDto;
+import com.spring.datajpa.repository.MemberRepository;
+
+/**
+ * Member 전체 export
+ * 조회 결과를 한 건씩 바로 출력 스트림에 써서, 건수와 상관없이 메모리 사용량이 일정하다.
+ */
+@Service
+public class MemberExportService {
+
+    private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+
+    public MemberExportService(MemberRepository memberRepository, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.objectMapper = objectMapper;
+        // StreamingResponseBody는 요청 스레드가 아닌 곳에서 실행되므로 트랜잭션을 직접 연다.
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * 한 줄에 JSON 객체 하나 (application/x-ndjson)
+     */
+    public void writeNdjson(OutputStream out) {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<MemberDto> members = memberRepository.streamMemberDto()) {
+                writeNdjson(members.iterator(), out);
+            }
+        });
+    }
+
+    /**
+     * 이미 조회 중인 결과(MemberAsyncRepository.streamMemberDto 등)를 한 줄에 하나씩 쓴다.
+     * 행마다 flush 하지 않고 버퍼가 찰 때와 마지막에만 내보낸다.
+     */
+    public void writeNdjson(Iterator<MemberDto> members, OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(MemberDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        try {
+            boolean written = false;
+            try (SequenceWriter sequence = writer.writeValues(out)) {
+                while (members.hasNext()) {
+                    sequence.write(members.next());
+                    written = true;
+                }
+            }
+            // 구분자는 값 사이에만 들어가므로 마지막 줄의 줄바꿈을 붙인다.
+            if (written) {
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * {"content":[...],"page":{"size":5,"number":0,"totalElements":40,"totalPages":8}}
+     * PagedModel과 같은 모양이지만, Page와 DTO 목록을 만들지 않고
+     * 조회한 행을 바로 쓴 뒤 페이지 정보를 마지막에 쓴다.
+     */
+    public void writePage(Pageable pageable, OutputStream out) {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<MemberDto> members = memberRepository.streamMemberDtoBy(pageable);
+                    JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("content");
+                long[] rows = new long[1];
+                members.forEach(dto -> {
+                    try {
+                        generator.writeStartObject();
+                        generator.writeNumberField("id", dto.getId());
+                        generator.writeStringField("username", dto.getUsername());
+                        generator.writeStringField("teamName", dto.getTeamName());
+                        generator.writeEndObject();
+                        rows[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+
+                long total = totalElements(pageable, rows[0]);
+                int size = pageable.isPaged() ? pageable.getPageSize() : (int) rows[0];
+                generator.writeObjectFieldStart("page");
+                generator.writeNumberField("size", size);
+                generator.writeNumberField("number", pageable.isPaged() ? pageable.getPageNumber() : 0);
+                generator.writeNumberField("totalElements", total);
+                generator.writeNumberField("totalPages", size == 0 ? 1 : (total + size - 1) / size);
+                generator.writeEndObject();
+                generator.writeEndObject();
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * 마지막 페이지이면 count 쿼리 없이 계산한다. (PageableExecutionUtils와 같은 규칙)
+     */
+    private long totalElements(Pageable pageable, long rows) {
+        if (pageable.isUnpaged()) {
+            return rows;
+        }
+        if ((rows > 0 || pageable.getOffset() == 0) && rows < pageable.getPageSize()) {
+            return pageable.getOffset() + rows;
+        }
+        return memberRepository.count();
+    }
+
+    /**
+     * id,username,teamName (text/csv)
+     */
+    public void writeCsv(OutputStream out) {
+        readOnlyTx.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<MemberDto> members = memberRepository.streamMemberDto()) {
+                writer.write("id,username,teamName\n");
+                members.forEach(dto -> {
+                    try {
+                        writer.write(dto.getId() + "," + csv(dto.getUsername()) + "," + csv(dto.getTeamName()) + "\n");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // RFC 4180: 구분자, 따옴표, 줄바꿈(CR, LF)이 있으면 따옴표로 감싼다.
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,58 @@
+package com.spring.datajpa.service;
+
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.repository.MemberRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 샘플 회원 데이터 (기존 MemberController.init)
+ * 빈 초기화(@PostConstruct) 대신 애플리케이션 준비가 끝난 뒤에 넣는다.
+ * app.seed.async=true(fast-startup 프로필)면 applicationTaskExecutor에서 실행해서 시작 시간에 포함되지 않는다.
+ */
+@Slf4j
+@Component
+public class MemberSeeder {
+
+    private static final int MEMBER_COUNT = 40;
+
+    private final MemberRepository memberRepository;
+    private final ObjectProvider<AsyncTaskExecutor> applicationTaskExecutor;
+    private final boolean async;
+
+    public MemberSeeder(MemberRepository memberRepository,
+            @Qualifier("applicationTaskExecutor") ObjectProvider<AsyncTaskExecutor> applicationTaskExecutor,
+            @Value("${app.seed.async:false}") boolean async) {
+        this.memberRepository = memberRepository;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        this.async = async;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        AsyncTaskExecutor executor = async ? applicationTaskExecutor.getIfAvailable() : null;
+        if (executor == null) {
+            insertMembers();
+            return;
+        }
+        executor.submitCompletable(this::insertMembers)
+                .exceptionally(e -> {
+                    log.warn("member seed failed", e);
+                    return null;
+                });
+    }
+
+    private void insertMembers() {
+        memberRepository.saveAllInBatches(IntStream.range(0, MEMBER_COUNT).mapToObj(i -> new Member("user" + i, i, null)), 100);
+    }
+}
@@ -0,0 +1,56 @@
+package com.spring.datajpa.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.entity.Team;
+import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.repository.TeamRepository;
+import com.spring.datajpa.retry.RetryingExecutor;
+
+/**
+ * 회원 팀 변경
+ * 같은 팀(hot row)으로 동시에 옮기는 경우가 많으므로 충돌을 전제로 한다.
+ */
+@Service
+public class MemberTeamService {
+
+    public static final String CHANGE_TEAM = "changeTeam";
+
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+    private final RetryingExecutor retryingExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public MemberTeamService(MemberRepository memberRepository, TeamRepository teamRepository,
+            RetryingExecutor retryingExecutor, PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.teamRepository = teamRepository;
+        this.retryingExecutor = retryingExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 낙관적 락: 락 없이 조회/변경하고, 커밋 시 버전이 바뀌었으면 다시 조회해서 재시도한다.
+     */
+    public void changeTeam(Long memberId, Long teamId) {
+        retryingExecutor.run(CHANGE_TEAM, () -> {
+            Member member = memberRepository.findById(memberId).orElseThrow();
+            Team team = teamRepository.findById(teamId).orElseThrow();
+            member.changeTeam(team);
+        });
+    }
+
+    /**
+     * 비관적 락 (비교용): member, team 순서로 select ... for update 하고 커밋할 때까지 다른 쓰기를 막는다.
+     */
+    public void changeTeamWithLock(Long memberId, Long teamId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = memberRepository.findForUpdateById(memberId).orElseThrow();
+            Team team = teamRepository.findForUpdateById(teamId).orElseThrow();
+            member.changeTeam(team);
+        });
+    }
+}
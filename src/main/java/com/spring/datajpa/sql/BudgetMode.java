@@ -0,0 +1,11 @@
+package com.spring.datajpa.sql;
+
+/**
+ * SQL 실행 건수 예산을 넘었을 때의 동작
+ */
+public enum BudgetMode {
+    /** 경고 로그만 남긴다. */
+    LOG,
+    /** 예산을 넘는 SQL 실행 시점에 StatementBudgetExceededException을 던진다. */
+    FAIL
+}
@@ -0,0 +1,37 @@
+package com.spring.datajpa.sql;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+
+/**
+ * threshold를 넘은 SQL 한 건
+ * plan은 별도 스레드에서 EXPLAIN이 끝나면 채워진다.
+ */
+@Getter
+public class SlowQuery {
+
+    private final LocalDateTime executedAt;
+    private final double elapsedMillis;
+    private final String sql;
+    private final String sqlWithValues;
+    private final String repositoryMethod;
+    private final String thread;
+    private final String error;
+    private volatile String plan;
+
+    SlowQuery(LocalDateTime executedAt, double elapsedMillis, String sql, String sqlWithValues,
+            String repositoryMethod, String thread, String error) {
+        this.executedAt = executedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.sql = sql;
+        this.sqlWithValues = sqlWithValues;
+        this.repositoryMethod = repositoryMethod;
+        this.thread = thread;
+        this.error = error;
+    }
+
+    void changePlan(String plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,50 @@
+package com.spring.datajpa.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 최근 slow query를 capacity개까지 보관하는 ring buffer
+ * 가득 차면 가장 오래된 항목을 덮어쓴다.
+ */
+public class SlowQueryBuffer {
+
+    private final AtomicReferenceArray<SlowQuery> entries;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SlowQueryBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity는 1 이상이어야 합니다: " + capacity);
+        }
+        this.entries = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(SlowQuery query) {
+        long index = sequence.getAndIncrement();
+        entries.set((int) (index % entries.length()), query);
+    }
+
+    /**
+     * 최신 순
+     */
+    public List<SlowQuery> recent() {
+        long last = sequence.get();
+        List<SlowQuery> result = new ArrayList<>();
+        for (long index = last - 1; index >= 0 && index >= last - entries.length(); index--) {
+            SlowQuery query = entries.get((int) (index % entries.length()));
+            if (query != null) {
+                result.add(query);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 지금까지 기록된 전체 건수 (덮어쓴 항목 포함)
+     */
+    public long getTotalCount() {
+        return sequence.get();
+    }
+}
@@ -0,0 +1,133 @@
+package com.spring.datajpa.sql;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import com.spring.datajpa.metrics.RepositoryMetricsInterceptor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * p6spy가 감싼 DataSource에서 실행 시간이 threshold를 넘은 SQL만 SlowQueryBuffer에 기록한다.
+ * threshold 미만이면 시간 비교만 하고 바로 반환한다. (객체 생성 없음)
+ * EXPLAIN은 별도 스레드 하나에서 실행하고, 밀려 있으면 버린다.
+ */
+@Slf4j
+public class SlowQueryListener extends SimpleJdbcEventListener implements DisposableBean {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern EXPLAINABLE = Pattern.compile("^\\s*(select|with|insert|update|delete|merge)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final boolean redactBinds;
+    private final boolean explain;
+    private final SlowQueryBuffer buffer;
+    // DataSource는 이 리스너를 포함해서 만들어지므로 EXPLAIN 시점에 꺼낸다.
+    private final ObjectProvider<DataSource> dataSource;
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryListener(long thresholdNanos, double sampleRate, boolean redactBinds, boolean explain,
+            SlowQueryBuffer buffer, ObjectProvider<DataSource> dataSource) {
+        this.thresholdNanos = thresholdNanos;
+        this.sampleRate = sampleRate;
+        this.redactBinds = redactBinds;
+        this.explain = explain;
+        this.buffer = buffer;
+        this.dataSource = dataSource;
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (timeElapsedNanos < thresholdNanos) {
+            return;
+        }
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        record(statementInformation, timeElapsedNanos, e);
+    }
+
+    private void record(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        String sql = statementInformation.getSql();
+        if (sql == null || sql.isBlank() || sql.regionMatches(true, 0, "explain", 0, 7)) {
+            return;
+        }
+        String sqlWithValues = statementInformation.getSqlWithValues();
+        SlowQuery query = new SlowQuery(LocalDateTime.now(), timeElapsedNanos / 1_000_000.0, sql,
+                redactBinds ? redact(sqlWithValues) : sqlWithValues, caller(), Thread.currentThread().getName(),
+                e == null ? null : e.getMessage());
+        buffer.add(query);
+        log.warn("slow query {}ms [{}] {}", query.getElapsedMillis(), query.getRepositoryMethod(), query.getSql());
+
+        if (explain && EXPLAINABLE.matcher(sql).find()) {
+            explainExecutor.execute(() -> query.changePlan(explain(sqlWithValues)));
+        }
+    }
+
+    private String explain(String sqlWithValues) {
+        try {
+            String plan = new JdbcTemplate(dataSource.getObject())
+                    .queryForList("explain " + sqlWithValues, String.class)
+                    .stream()
+                    .collect(Collectors.joining("\n"));
+            return redactBinds ? redact(plan) : plan;
+        } catch (RuntimeException e) {
+            log.debug("EXPLAIN 실패: {}", sqlWithValues, e);
+            return "EXPLAIN 실패: " + e.getMessage();
+        }
+    }
+
+    /**
+     * 리포지토리 메서드 안이면 메서드 이름, 아니면(EntityManager 직접 사용 등) 호출한 애플리케이션 클래스
+     */
+    private static String caller() {
+        String method = RepositoryMetricsInterceptor.currentMethod();
+        if (method != null) {
+            return method;
+        }
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.spring.datajpa.")
+                        && !frame.getClassName().startsWith("com.spring.datajpa.sql.")
+                        && !frame.getClassName().startsWith("com.spring.datajpa.datasource."))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse(null));
+    }
+
+    static String redact(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("'?'");
+        return NUMBER_LITERAL.matcher(redacted).replaceAll("?");
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+}
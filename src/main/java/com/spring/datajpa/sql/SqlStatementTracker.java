@@ -0,0 +1,99 @@
+package com.spring.datajpa.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hibernate가 실행하는 모든 SQL을 현재 스레드에 열려 있는 StatementScope에 기록한다.
+ * 트랜잭션 범위는 트랜잭션 안에서 첫 SQL이 실행될 때 자동으로 열리고, 트랜잭션 종료 시 닫힌다.
+ */
+public class SqlStatementTracker implements StatementInspector {
+
+    private static final ThreadLocal<List<StatementScope>> SCOPES = ThreadLocal.withInitial(ArrayList::new);
+    // 범위와 상관없이 스레드별 누적 실행 건수 (RepositoryMetricsInterceptor가 호출 전후 차이를 잰다)
+    private static final ThreadLocal<long[]> EXECUTED = ThreadLocal.withInitial(() -> new long[1]);
+
+    // in 절 파라미터 개수만 다른 SQL도 같은 SQL로 본다. (?, ?, ?) -> (?...)
+    private static final Pattern IN_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int maxStatementsPerTransaction;
+    private final int maxRepeats;
+    private final BudgetMode mode;
+
+    public SqlStatementTracker(int maxStatementsPerTransaction, int maxRepeats, BudgetMode mode) {
+        this.maxStatementsPerTransaction = maxStatementsPerTransaction;
+        this.maxRepeats = maxRepeats;
+        this.mode = mode;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        EXECUTED.get()[0]++;
+        beginTransactionScopeIfNecessary();
+        List<StatementScope> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            return sql;
+        }
+        // 요청 범위와 트랜잭션 범위가 함께 열려 있어도 정규화는 SQL마다 한 번만 한다.
+        String normalized = normalize(sql);
+        for (int i = 0; i < scopes.size(); i++) {
+            scopes.get(i).record(normalized);
+        }
+        return sql;
+    }
+
+    static String normalize(String sql) {
+        return IN_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("?...");
+    }
+
+    private void beginTransactionScopeIfNecessary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        StatementScope scope = begin("transaction", maxStatementsPerTransaction, maxRepeats, mode);
+        TransactionSynchronizationManager.bindResource(this, scope);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SqlStatementTracker.this);
+                scope.close();
+            }
+        });
+    }
+
+    /**
+     * 현재 스레드에서 지금까지 실행된 SQL 수
+     */
+    public static long executedStatements() {
+        return EXECUTED.get()[0];
+    }
+
+    /**
+     * 제한 없이 SQL 실행 건수만 세는 범위 (테스트 검증용)
+     */
+    public static StatementScope begin() {
+        return begin("scope", 0, 0, BudgetMode.LOG);
+    }
+
+    public static StatementScope begin(String name, int maxStatements, int maxRepeats, BudgetMode mode) {
+        StatementScope scope = new StatementScope(name, maxStatements, maxRepeats, mode);
+        SCOPES.get().add(scope);
+        return scope;
+    }
+
+    static void end(StatementScope scope) {
+        List<StatementScope> scopes = SCOPES.get();
+        // 테스트 범위와 트랜잭션 범위는 순서대로 닫히지 않을 수 있다.
+        scopes.remove(scope);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.spring.datajpa.sql;
+
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
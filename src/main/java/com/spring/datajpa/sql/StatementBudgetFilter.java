@@ -0,0 +1,35 @@
+package com.spring.datajpa.sql;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * HTTP 요청 하나에서 실행된 SQL 건수를 예산과 비교한다.
+ */
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private final int maxStatements;
+    private final int maxRepeats;
+    private final BudgetMode mode;
+
+    public StatementBudgetFilter(int maxStatements, int maxRepeats, BudgetMode mode) {
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+        this.mode = mode;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String name = request.getMethod() + " " + request.getRequestURI();
+        try (StatementScope scope = SqlStatementTracker.begin(name, maxStatements, maxRepeats, mode)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
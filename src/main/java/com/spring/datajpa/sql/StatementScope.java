@@ -0,0 +1,111 @@
+package com.spring.datajpa.sql;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 한 범위(HTTP 요청, 트랜잭션, 테스트 블록)에서 실행된 SQL을 센다.
+ * 바인딩 값만 다른 같은 SQL이 반복되면 N+1로 판단한다.
+ *
+ * <pre>
+ * try (StatementScope scope = SqlStatementTracker.begin()) {
+ *     ...
+ *     scope.assertNoRepeatedStatements();
+ * }
+ * </pre>
+ */
+@Slf4j
+public class StatementScope implements AutoCloseable {
+
+    @Getter
+    private final String name;
+    private final int maxStatements;
+    private final int maxRepeats;
+    private final BudgetMode mode;
+
+    @Getter
+    private int statementCount;
+    private final Map<String, Integer> counts = new HashMap<>();
+    private boolean closed;
+
+    /**
+     * @param maxStatements 0 이하이면 제한 없음
+     * @param maxRepeats 같은 SQL 최대 반복 횟수, 0 이하이면 제한 없음
+     */
+    StatementScope(String name, int maxStatements, int maxRepeats, BudgetMode mode) {
+        this.name = name;
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+        this.mode = mode;
+    }
+
+    /**
+     * @param normalized SqlStatementTracker.normalize()로 정규화한 SQL, 열린 범위가 여러 개여도 한 번만 정규화한다.
+     */
+    void record(String normalized) {
+        statementCount++;
+        int repeats = counts.merge(normalized, 1, Integer::sum);
+
+        if (mode == BudgetMode.FAIL) {
+            if (maxStatements > 0 && statementCount > maxStatements) {
+                throw new StatementBudgetExceededException(
+                        name + ": SQL 실행 건수가 예산(" + maxStatements + ")을 넘었습니다. " + normalized);
+            }
+            if (maxRepeats > 0 && repeats > maxRepeats) {
+                throw new StatementBudgetExceededException(
+                        name + ": 같은 SQL이 " + repeats + "번 실행되었습니다. (N+1 의심) " + normalized);
+            }
+        } else if (maxRepeats > 0 && repeats == maxRepeats + 1) {
+            // 로그는 SQL마다 한 번만 남긴다.
+            log.warn("{}: 같은 SQL이 {}번 이상 실행되었습니다. (N+1 의심) {}", name, repeats, normalized);
+        }
+    }
+
+    /**
+     * 2번 이상 실행된 SQL과 실행 횟수
+     */
+    public Map<String, Integer> getRepeatedStatements() {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        counts.forEach((sql, count) -> {
+            if (count > 1) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    public void assertStatementCount(int expected) {
+        if (statementCount != expected) {
+            throw new AssertionError(name + ": 예상 SQL 실행 건수 " + expected + ", 실제 " + statementCount + " " + counts);
+        }
+    }
+
+    public void assertMaxStatements(int max) {
+        if (statementCount > max) {
+            throw new AssertionError(name + ": SQL 실행 건수 " + statementCount + "이 최대 " + max + "을 넘었습니다. " + counts);
+        }
+    }
+
+    public void assertNoRepeatedStatements() {
+        Map<String, Integer> repeated = getRepeatedStatements();
+        if (!repeated.isEmpty()) {
+            throw new AssertionError(name + ": 같은 SQL이 반복 실행되었습니다. (N+1 의심) " + repeated);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        SqlStatementTracker.end(this);
+        if (mode == BudgetMode.LOG && maxStatements > 0 && statementCount > maxStatements) {
+            log.warn("{}: SQL 실행 건수 {}이 예산 {}을 넘었습니다.", name, statementCount, maxStatements);
+        }
+    }
+}
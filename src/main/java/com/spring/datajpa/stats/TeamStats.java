@@ -0,0 +1,59 @@
+package com.spring.datajpa.stats;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * 팀 하나의 회원 수, 나이 합계/최소/최대, 나이 구간(10살 단위, 마지막은 90살 이상)별 회원 수
+ * 변경할 때마다 새 인스턴스로 교체하므로 읽는 쪽은 잠금 없이 일관된 값을 본다.
+ */
+@Getter
+public class TeamStats {
+
+    public static final int BUCKET_WIDTH = 10;
+    public static final int BUCKETS = 10;
+
+    private final Long teamId;
+    private final long memberCount;
+    private final long ageSum;
+    private final Integer minAge;
+    private final Integer maxAge;
+    private final List<Long> ageHistogram;
+
+    /**
+     * @param ageCounts 나이 -> 회원 수 (나이 오름차순)
+     */
+    public TeamStats(Long teamId, Map<Integer, Long> ageCounts) {
+        long count = 0;
+        long sum = 0;
+        long[] buckets = new long[BUCKETS];
+        Integer min = null;
+        Integer max = null;
+        for (Map.Entry<Integer, Long> entry : ageCounts.entrySet()) {
+            int age = entry.getKey();
+            long n = entry.getValue();
+            count += n;
+            sum += age * n;
+            buckets[bucket(age)] += n;
+            min = min == null ? age : min;
+            max = age;
+        }
+        this.teamId = teamId;
+        this.memberCount = count;
+        this.ageSum = sum;
+        this.minAge = min;
+        this.maxAge = max;
+        this.ageHistogram = Arrays.stream(buckets).boxed().toList();
+    }
+
+    public double getAverageAge() {
+        return memberCount == 0 ? 0 : ageSum / (double) memberCount;
+    }
+
+    static int bucket(int age) {
+        return Math.min(Math.max(age, 0) / BUCKET_WIDTH, BUCKETS - 1);
+    }
+}
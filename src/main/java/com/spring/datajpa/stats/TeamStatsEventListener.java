@@ -0,0 +1,109 @@
+package com.spring.datajpa.stats;
+
+import java.util.Objects;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.entity.Team;
+import com.spring.datajpa.repository.TeamStatsRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 커밋된 Member 변경(insert, update의 팀/나이, delete)을 TeamStatsRepository에 반영한다.
+ * update는 변경 전 상태(oldState)에서 이전 팀/나이를 읽고, 없으면 차이를 알 수 없으므로 stale로 표시한다.
+ */
+@Slf4j
+@Component
+public class TeamStatsEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TeamStatsRepository teamStatsRepository;
+
+    public TeamStatsEventListener(EntityManagerFactory entityManagerFactory, TeamStatsRepository teamStatsRepository) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.teamStatsRepository = teamStatsRepository;
+    }
+
+    /**
+     * 생성자에서 SessionFactory를 꺼내면 fast-startup의 백그라운드 EntityManagerFactory 생성을 기다리게 되므로 모든 빈이 만들어진 뒤에 등록한다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        teamStatsRepository.rebuild();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            teamStatsRepository.move(null, 0, teamId(member.getTeam()), member.getAge());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member member)) {
+            return;
+        }
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            log.warn("no previous state for member {}, team stats need rebuild()", member.getId());
+            teamStatsRepository.markStale();
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        Long oldTeamId = teamId((Team) oldState[persister.getPropertyIndex("team")]);
+        int oldAge = (Integer) oldState[persister.getPropertyIndex("age")];
+        Long newTeamId = teamId(member.getTeam());
+        if (oldAge != member.getAge() || !Objects.equals(oldTeamId, newTeamId)) {
+            teamStatsRepository.move(oldTeamId, oldAge, newTeamId, member.getAge());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (!(event.getEntity() instanceof Member member)) {
+            return;
+        }
+        Object[] deletedState = event.getDeletedState();
+        EntityPersister persister = event.getPersister();
+        Team team = deletedState == null ? member.getTeam() : (Team) deletedState[persister.getPropertyIndex("team")];
+        int age = deletedState == null ? member.getAge() : (Integer) deletedState[persister.getPropertyIndex("age")];
+        teamStatsRepository.move(teamId(team), age, null, 0);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    // 프록시여도 id 조회는 초기화하지 않는다.
+    private static Long teamId(Team team) {
+        return team == null ? null : team.getId();
+    }
+}
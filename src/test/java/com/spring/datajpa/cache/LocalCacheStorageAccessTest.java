@@ -0,0 +1,43 @@
+package com.spring.datajpa.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class LocalCacheStorageAccessTest {
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        LocalCacheStorageAccess storage = new LocalCacheStorageAccess("team", 2, 0);
+        storage.putIntoCache(1L, "teamA", null);
+        storage.putIntoCache(2L, "teamB", null);
+        storage.getFromCache(1L, null); // 1L을 최근 사용으로 만든다.
+        storage.putIntoCache(3L, "teamC", null);
+
+        assertThat(storage.getFromCache(1L, null)).isEqualTo("teamA");
+        assertThat(storage.getFromCache(2L, null)).isNull();
+        assertThat(storage.getFromCache(3L, null)).isEqualTo("teamC");
+
+        CacheRegionStatistics stats = storage.getStatistics();
+        assertThat(stats.getSize()).isEqualTo(2);
+        assertThat(stats.getHitCount()).isEqualTo(3);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getPutCount()).isEqualTo(3);
+        assertThat(stats.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expireAfterTtl() throws InterruptedException {
+        LocalCacheStorageAccess storage = new LocalCacheStorageAccess("team", 0, TimeUnit.MILLISECONDS.toNanos(10));
+        storage.putIntoCache(1L, "teamA", null);
+        assertThat(storage.contains(1L)).isTrue();
+
+        Thread.sleep(20);
+
+        assertThat(storage.contains(1L)).isFalse();
+        assertThat(storage.getFromCache(1L, null)).isNull();
+        assertThat(storage.getStatistics().getEvictionCount()).isEqualTo(1);
+    }
+}
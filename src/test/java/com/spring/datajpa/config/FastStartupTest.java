@@ -0,0 +1,28 @@
+package com.spring.datajpa.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * fast-startup 프로필에서 EntityManagerFactory 생성이 나머지 빈 초기화와 겹치는지 확인한다.
+ * 빈 생성자/@PostConstruct에서 SessionFactory를 꺼내는 빈이 생기면 blockingCaller로 잡힌다.
+ */
+@SpringBootTest(properties = { "app.search.enabled=true", "app.search.rebuild-on-startup=false" })
+@ActiveProfiles("fast-startup")
+class FastStartupTest {
+
+    @Autowired
+    private EntityManagerFactoryBootstrapTimer bootstrapTimer;
+
+    @Test
+    void entityManagerFactoryBuiltInBackground() {
+        assertThat(bootstrapTimer.getBuildThread()).isNotNull().isNotEqualTo(Thread.currentThread().getName());
+        assertThat(bootstrapTimer.getBlockingCaller())
+                .as("bean that waited for the EntityManagerFactory while beans were being created")
+                .isNull();
+    }
+}
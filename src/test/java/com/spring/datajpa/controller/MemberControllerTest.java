@@ -0,0 +1,40 @@
+package com.spring.datajpa.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest
+class MemberControllerTest {
+
+    @Autowired
+    private MemberController memberController;
+
+    @Test
+    void invalidCursorIsBadRequest() {
+        String notBase64 = "not a cursor!";
+        String tampered = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("10:abc".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[] { notBase64, tampered }) {
+            assertThatThrownBy(() -> memberController.membersByCursor(cursor, 5))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+    }
+
+    @Test
+    void nonPositiveSizeIsBadRequest() {
+        assertThatThrownBy(() -> memberController.membersByCursor(null, 0))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
@@ -0,0 +1,74 @@
+package com.spring.datajpa.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * H2 in-memory DB 두 개(primary, replica)로 라우팅 확인
+ * 복제는 replica의 heartbeat를 직접 써서 흉내 낸다.
+ */
+public class ReadWriteRoutingDataSourceTest {
+
+    private final DriverManagerDataSource primary =
+            new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1", "sa", "");
+    private final DriverManagerDataSource replica =
+            new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1", "sa", "");
+
+    private ReplicaPool replicaPool;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTx;
+    private TransactionTemplate readWriteTx;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        replicaPool = new ReplicaPool(List.of(new Replica("replica", replica)), ReplicaSelection.ROUND_ROBIN,
+                Duration.ofSeconds(5), Duration.ZERO);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replicaPool);
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWriteTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+
+        replicaPool.heartbeat();
+        new JdbcTemplate(replica).execute("create table if not exists " + ReplicaPool.HEARTBEAT_TABLE
+                + " (id int primary key, beat_at bigint not null)");
+    }
+
+    @Test
+    void routeReadOnlyToReplica() {
+        replicate(System.currentTimeMillis());
+        replicaPool.checkReplicas();
+
+        assertThat(readOnlyTx.execute(status -> database())).isEqualToIgnoringCase("routing_replica");
+        assertThat(readWriteTx.execute(status -> database())).isEqualToIgnoringCase("routing_primary");
+    }
+
+    @Test
+    void fallbackToPrimaryWhenReplicaLags() {
+        replicate(System.currentTimeMillis() - Duration.ofMinutes(1).toMillis());
+        replicaPool.checkReplicas();
+
+        assertThat(replicaPool.getReplicas().get(0).isAvailable()).isFalse();
+        assertThat(readOnlyTx.execute(status -> database())).isEqualToIgnoringCase("routing_primary");
+    }
+
+    private void replicate(long beatAt) {
+        JdbcTemplate replicaTemplate = new JdbcTemplate(replica);
+        replicaTemplate.update("delete from " + ReplicaPool.HEARTBEAT_TABLE);
+        replicaTemplate.update("insert into " + ReplicaPool.HEARTBEAT_TABLE + " (id, beat_at) values (1, ?)", beatAt);
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+}
@@ -0,0 +1,44 @@
+package com.spring.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.entity.Team;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * app.audit.high-throughput=true: 같은 트랜잭션에서 저장한 엔티티는 등록자/등록일을 공유한다.
+ */
+@SpringBootTest(properties = "app.audit.high-throughput=true")
+@Transactional
+class AuditHighThroughputTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Test
+    void auditFieldsSharedInTransaction() {
+        Team teamA = teamRepository.save(new Team("auditA"));
+        Team teamB = teamRepository.save(new Team("auditB"));
+        Member member = memberRepository.save(new Member("auditMember", 10, teamA));
+
+        assertThat(teamA.getCreatedBy()).isNotNull().isEqualTo(teamB.getCreatedBy());
+        assertThat(teamA.getCreatedDate()).isNotNull().isEqualTo(teamB.getCreatedDate());
+        assertThat(em.createQuery("select m.createdDate from Member m where m.id = :id", Object.class)
+                .setParameter("id", member.getId())
+                .getSingleResult()).isEqualTo(teamA.getCreatedDate());
+    }
+}
@@ -1,21 +1,36 @@
 package com.spring.datajpa.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.spring.datajpa.dto.MemberCursor;
 import com.spring.datajpa.dto.MemberDto;
+import com.spring.datajpa.dto.MemberView;
 import com.spring.datajpa.entity.Member;
 import com.spring.datajpa.entity.Team;
+import com.spring.datajpa.metrics.QueryKind;
+import com.spring.datajpa.metrics.RepositoryMethodStats;
+import com.spring.datajpa.metrics.RepositoryMetrics;
+import com.spring.datajpa.repository.count.CountStrategy;
+import com.spring.datajpa.repository.count.CountedPage;
+import com.spring.datajpa.sql.SqlStatementTracker;
+import com.spring.datajpa.sql.StatementScope;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -30,6 +45,9 @@ public class MemberRepositoryTest {
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private RepositoryMetrics repositoryMetrics;
+
     @PersistenceContext
     private EntityManager em;
 
@@ -143,6 +161,49 @@ public class MemberRepositoryTest {
                 .containsExactly("memberA", "teamA");
     }
 
+    @Test
+    void streamMemberDto() {
+        Team team = new Team("teamA");
+        teamRepository.save(team);
+        memberRepository.save(new Member("memberA", 20, team));
+        memberRepository.save(new Member("memberB", 10, null));
+
+        // left join이므로 팀이 없는 회원도 포함된다.
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDto()) {
+            List<MemberDto> result = stream.filter(dto -> dto.getUsername().startsWith("member")).toList();
+            assertThat(result)
+                    .extracting(MemberDto::getUsername, MemberDto::getTeamName)
+                    .containsExactlyInAnyOrder(
+                            tuple("memberA", "teamA"),
+                            tuple("memberB", null));
+        }
+    }
+
+    @Test
+    void findMemberDtoPage() {
+        Team team = new Team("teamA");
+        teamRepository.save(team);
+        memberRepository.save(new Member("memberA", 200, team));
+        memberRepository.save(new Member("memberB", 201, null));
+
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "age"));
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(pageRequest);
+        assertThat(page.getContent())
+                .extracting(MemberDto::getUsername, MemberDto::getTeamName)
+                .containsExactly(tuple("memberB", null), tuple("memberA", "teamA"));
+
+        Page<MemberView> views = memberRepository.findProjectedBy(pageRequest, MemberView.class);
+        assertThat(views.getContent())
+                .extracting(MemberView::getUsername, MemberView::getTeamName)
+                .containsExactly(tuple("memberB", null), tuple("memberA", "teamA"));
+
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDtoBy(pageRequest)) {
+            assertThat(stream.toList())
+                    .extracting(MemberDto::getUsername, MemberDto::getTeamName)
+                    .containsExactly(tuple("memberB", null), tuple("memberA", "teamA"));
+        }
+    }
+
     @Test
     void findByNames() {
         Member memberA = new Member("memberA", 20, null);
@@ -157,6 +218,48 @@ public class MemberRepositoryTest {
         }
     }
 
+    @Test
+    void findByNamesInChunks() {
+        memberRepository.save(new Member("memberA", 20, null));
+        memberRepository.save(new Member("memberB", 20, null));
+
+        List<String> names = new ArrayList<>(IntStream.range(0, MemberRepository.NAME_CHUNK_SIZE * 2)
+                .mapToObj(i -> "name" + i)
+                .toList());
+        names.add("memberA");
+
+        assertThat(memberRepository.findByNames(names, 20)).extracting(Member::getUsername).containsExactly("memberA");
+        assertThat(memberRepository.findByNames(List.of("memberB", "memberB", "memberC"), 20))
+                .extracting(Member::getUsername)
+                .containsExactly("memberB");
+    }
+
+    @Test
+    void findAllByIdsOrdered() {
+        Member member1 = memberRepository.save(new Member("multi1", 10, null));
+        Member member2 = memberRepository.save(new Member("multi2", 10, null));
+        Member member3 = memberRepository.save(new Member("multi3", 10, null));
+        em.flush();
+        em.clear();
+
+        Member loaded = memberRepository.findById(member2.getId()).get();
+        Long missingId = -1L;
+
+        // member2는 영속성 컨텍스트에 있으므로 member1, member3만 in 절 한 번으로 조회한다.
+        try (StatementScope scope = SqlStatementTracker.begin()) {
+            List<Member> members = memberRepository.findAllByIdsOrdered(
+                    List.of(member3.getId(), missingId, member2.getId(), member1.getId(), member3.getId()));
+
+            scope.assertStatementCount(1);
+            assertThat(members).hasSize(5);
+            assertThat(members.get(0).getUsername()).isEqualTo("multi3");
+            assertThat(members.get(1)).isNull();
+            assertThat(members.get(2)).isSameAs(loaded);
+            assertThat(members.get(3).getUsername()).isEqualTo("multi1");
+            assertThat(members.get(4)).isSameAs(members.get(0));
+        }
+    }
+
     @Test
     void paging() {
         memberRepository.save(new Member("member1", 10, null));
@@ -192,6 +295,71 @@ public class MemberRepositoryTest {
 
     }
 
+    @Test
+    void saveAllInBatches() {
+        Team team = new Team("teamA");
+        long teamCount = teamRepository.saveAllInBatches(Stream.of(team), 100);
+        long before = memberRepository.count();
+
+        // batch 크기(100)로 나누어 떨어지지 않는 건수도 마지막에 flush 되어야 한다.
+        long saved = memberRepository.saveAllInBatches(
+                IntStream.range(0, 250).mapToObj(i -> new Member("bulk" + i, i % 50, null)), 100);
+
+        assertThat(teamCount).isEqualTo(1);
+        assertThat(saved).isEqualTo(250);
+        assertThat(memberRepository.count()).isEqualTo(before + 250);
+        // flush/clear 이후에는 영속성 컨텍스트에 남아있지 않다.
+        assertThat(em.contains(team)).isFalse();
+    }
+
+    @Test
+    void cachedTotalCount() {
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(new Member("member" + i, 77, null));
+        }
+        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "username"));
+
+        // 첫 조회는 count 쿼리로 정확한 건수를 구해서 캐시한다.
+        CountedPage<Member> first = (CountedPage<Member>) memberRepository.findPageByAge(77, pageRequest);
+        assertThat(first.getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+        assertThat(first.getTotalElements()).isEqualTo(5);
+
+        // 두번째 조회는 count 쿼리 없이 캐시된 건수를 사용한다.
+        CountedPage<Member> second = (CountedPage<Member>) memberRepository.findPageByAge(77, pageRequest);
+        assertThat(second.getCountStrategy()).isEqualTo(CountStrategy.CACHED);
+        assertThat(second.getTotalElements()).isEqualTo(5);
+        assertThat(second.getContent())
+                .extracting(Member::getUsername)
+                .containsExactly("member3", "member2");
+
+        // map()으로 변환해도 countStrategy가 유지된다.
+        assertThat(second.map(Member::getUsername).getCountStrategy()).isEqualTo(CountStrategy.CACHED);
+    }
+
+    @Test
+    void cursorPaging() {
+        memberRepository.save(new Member("member1", 30, null));
+        memberRepository.save(new Member("member2", 10, null));
+        memberRepository.save(new Member("member3", 20, null));
+        memberRepository.save(new Member("member4", 10, null));
+        memberRepository.save(new Member("member5", 20, null));
+
+        // 첫 페이지: cursor 없음
+        Window<Member> first = memberRepository.findWindowByOrderByAgeAscIdAsc(MemberCursor.toPosition(null), Limit.of(3));
+        assertThat(first.getContent())
+                .extracting(Member::getUsername)
+                .containsExactly("member2", "member4", "member3");
+        assertThat(first.hasNext()).isTrue();
+
+        // 다음 페이지: 마지막 (age, id)를 토큰으로 넘긴다.
+        String cursor = MemberCursor.of(first.getContent().get(first.size() - 1)).encode();
+        Window<Member> second = memberRepository.findWindowByOrderByAgeAscIdAsc(MemberCursor.toPosition(cursor), Limit.of(3));
+        assertThat(second.getContent())
+                .extracting(Member::getUsername)
+                .containsExactly("member5", "member1");
+        assertThat(second.hasNext()).isFalse();
+    }
+
     @Test
     void testAgePlus() {
         Member memberA = new Member("memberA", 10, null);
@@ -264,4 +432,93 @@ public class MemberRepositoryTest {
         }
          */
     }
+
+    @Test
+    void detectNPlusOne() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        teamRepository.save(teamA);
+        teamRepository.save(teamB);
+        memberRepository.save(new Member("member1", 300, teamA));
+        memberRepository.save(new Member("member2", 300, teamB));
+        em.flush();
+        em.clear();
+
+        // 반복문 안에서 쿼리 메서드 호출: member 조회 1번 + 같은 쿼리 N번
+        try (StatementScope scope = SqlStatementTracker.begin()) {
+            List<Member> members = memberRepository.findListByAge(300, PageRequest.of(0, 10));
+            members.forEach(member -> memberRepository.findByUsername(member.getUsername()));
+
+            assertThat(scope.getStatementCount()).isEqualTo(3);
+            assertThat(scope.getRepeatedStatements()).hasSize(1).containsValue(2);
+        }
+        em.clear();
+
+        // 지연 로딩: default_batch_fetch_size로 team 프록시를 in 쿼리 한 번에 초기화한다. (member 1번 + team 1번)
+        try (StatementScope scope = SqlStatementTracker.begin()) {
+            List<Member> members = memberRepository.findListByAge(300, PageRequest.of(0, 10));
+            members.forEach(member -> member.getTeam().getName());
+
+            scope.assertStatementCount(2);
+            scope.assertNoRepeatedStatements();
+        }
+        em.clear();
+
+        // fetch join: 쿼리 1번
+        try (StatementScope scope = SqlStatementTracker.begin()) {
+            List<Member> members = memberRepository.findMemberFetchJoin();
+            members.forEach(member -> System.out.println(member.getTeam()));
+
+            scope.assertStatementCount(1);
+            scope.assertNoRepeatedStatements();
+        }
+    }
+
+    @Test
+    void findTeamPageWithMembers() {
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team("batchTeam" + i);
+            teamRepository.save(team);
+            memberRepository.save(new Member("memberA" + i, 10, team));
+            memberRepository.save(new Member("memberB" + i, 10, team));
+        }
+        em.flush();
+        em.clear();
+
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "name"));
+        try (StatementScope scope = SqlStatementTracker.begin()) {
+            Page<Team> page = teamRepository.findPageWithMembers(pageRequest);
+            page.forEach(team -> team.getMembers().size());
+
+            // id 페이징 + count + members fetch join, 페이지 크기와 상관없이 고정
+            scope.assertMaxStatements(3);
+            assertThat(page.getContent())
+                    .extracting(Team::getName)
+                    .startsWith("batchTeam4", "batchTeam3", "batchTeam2");
+            assertThat(page.getContent().get(0).getMembers()).hasSize(2);
+        }
+    }
+
+    @Test
+    public void repositoryMethodMetrics() {
+        memberRepository.save(new Member("metricsMember", 10, null));
+        memberRepository.findByUsername("metricsMember");
+        memberRepository.findUser("metricsMember", 10);
+        memberRepository.findByUsernameAndAgeGreaterThan("metricsMember", 5);
+
+        assertThat(repositoryMetrics.getMethodStats())
+                .filteredOn(stats -> stats.getRepository().equals("MemberRepository"))
+                .extracting(RepositoryMethodStats::getMethod, RepositoryMethodStats::getQueryKind)
+                .contains(
+                        tuple("save", QueryKind.CRUD),
+                        tuple("findByUsername", QueryKind.NAMED),
+                        tuple("findUser", QueryKind.QUERY),
+                        tuple("findByUsernameAndAgeGreaterThan", QueryKind.DERIVED));
+        RepositoryMethodStats findUser = repositoryMetrics.getMethodStats().stream()
+                .filter(stats -> stats.getMethod().equals("findUser"))
+                .findFirst().get();
+        assertThat(findUser.getCount()).isGreaterThanOrEqualTo(1);
+        assertThat(findUser.getRows()).isGreaterThanOrEqualTo(1);
+        assertThat(findUser.getStatements()).isGreaterThanOrEqualTo(1);
+    }
 }
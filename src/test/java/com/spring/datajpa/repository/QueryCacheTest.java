@@ -0,0 +1,70 @@
+package com.spring.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.spring.datajpa.cache.CacheRegionStatistics;
+import com.spring.datajpa.cache.LocalCacheRegionFactory;
+import com.spring.datajpa.entity.Member;
+
+/**
+ * Member.findByUsername 쿼리 캐시 (app.cache.enabled=true)
+ * 트랜잭션 안에서 member를 변경하면 커밋할 때까지 쿼리 캐시를 쓰지 않으므로, 테스트 트랜잭션 없이 호출마다 커밋하고 직접 정리한다.
+ */
+@SpringBootTest(properties = "app.cache.enabled=true")
+class QueryCacheTest {
+
+    private static final String REGION = "member.findByUsername";
+    // bulkAgePlus가 이 테스트의 회원만 바꾸도록 다른 데이터에 없는 나이를 쓴다.
+    private static final int AGE = 1000;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LocalCacheRegionFactory regionFactory;
+
+    private Member member;
+
+    @AfterEach
+    void cleanUp() {
+        if (member != null) {
+            memberRepository.deleteById(member.getId());
+        }
+    }
+
+    @Test
+    void queryCacheInvalidatedByBulkUpdate() {
+        member = memberRepository.save(new Member("queryCacheMember", AGE, null));
+
+        // 처음 조회한 결과가 쿼리 캐시에 저장된다.
+        assertThat(memberRepository.findByUsername("queryCacheMember").get(0).getAge()).isEqualTo(AGE);
+        CacheRegionStatistics stored = region();
+        assertThat(stored.getPutCount()).isPositive();
+
+        // 같은 조회는 캐시에서 읽고 다시 저장하지 않는다.
+        assertThat(memberRepository.findByUsername("queryCacheMember").get(0).getAge()).isEqualTo(AGE);
+        CacheRegionStatistics hit = region();
+        assertThat(hit.getHitCount()).isEqualTo(stored.getHitCount() + 1);
+        assertThat(hit.getPutCount()).isEqualTo(stored.getPutCount());
+
+        // bulk update가 member 테이블의 update timestamp를 갱신해서 캐시된 결과가 무효화된다.
+        // (저장소에는 남아 있지만 오래된 결과라 쓰지 않고 다시 조회해서 새로 저장한다.)
+        memberRepository.bulkAgePlus(AGE);
+
+        assertThat(memberRepository.findByUsername("queryCacheMember").get(0).getAge()).isEqualTo(AGE + 1);
+        CacheRegionStatistics invalidated = region();
+        assertThat(invalidated.getPutCount()).isEqualTo(hit.getPutCount() + 1);
+    }
+
+    private CacheRegionStatistics region() {
+        return regionFactory.getStatistics().stream()
+                .filter(stats -> stats.getRegionName().equals(REGION))
+                .findFirst()
+                .orElseThrow();
+    }
+}
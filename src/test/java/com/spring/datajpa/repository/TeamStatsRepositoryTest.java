@@ -0,0 +1,89 @@
+package com.spring.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.entity.Team;
+import com.spring.datajpa.service.MemberBulkUpdateService;
+import com.spring.datajpa.service.MemberTeamService;
+import com.spring.datajpa.stats.TeamStats;
+
+/**
+ * 커밋 이벤트로 갱신되므로 테스트 트랜잭션 없이 실행하고 직접 정리한다.
+ */
+@SpringBootTest
+class TeamStatsRepositoryTest {
+
+    @Autowired
+    private TeamStatsRepository teamStatsRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MemberTeamService memberTeamService;
+
+    @Autowired
+    private MemberBulkUpdateService memberBulkUpdateService;
+
+    private List<Member> members = List.of();
+    private List<Team> teams = List.of();
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch(members);
+        teamRepository.deleteAllInBatch(teams);
+        teamStatsRepository.rebuild();
+    }
+
+    @Test
+    void statsFollowMemberChanges() {
+        teams = teamRepository.saveAll(List.of(new Team("statsA"), new Team("statsB")));
+        Team teamA = teams.get(0);
+        Team teamB = teams.get(1);
+        members = memberRepository.saveAll(List.of(
+                new Member("stats1", 2015, teamA),
+                new Member("stats2", 2025, teamA),
+                new Member("stats3", 2095, teamA)));
+
+        TeamStats stats = teamStatsRepository.findById(teamA.getId()).orElseThrow();
+        assertThat(stats.getMemberCount()).isEqualTo(3);
+        assertThat(stats.getAgeSum()).isEqualTo(6135);
+        assertThat(stats.getMinAge()).isEqualTo(2015);
+        assertThat(stats.getMaxAge()).isEqualTo(2095);
+        assertThat(stats.getAgeHistogram().get(TeamStats.BUCKETS - 1)).isEqualTo(3);
+
+        memberTeamService.changeTeam(members.get(2).getId(), teamB.getId());
+
+        assertThat(teamStatsRepository.findById(teamA.getId()).orElseThrow().getMaxAge()).isEqualTo(2025);
+        assertThat(teamStatsRepository.findById(teamB.getId()).orElseThrow().getMemberCount()).isEqualTo(1);
+
+        // bulk update는 이벤트 없이 반영되고, 작업이 끝나면 다시 집계한다.
+        memberBulkUpdateService.bulkAgePlus(2020);
+
+        stats = teamStatsRepository.findById(teamA.getId()).orElseThrow();
+        assertThat(stats.getAgeSum()).isEqualTo(2015 + 2026);
+        assertThat(teamStatsRepository.findById(teamB.getId()).orElseThrow().getMinAge()).isEqualTo(2096);
+        assertThat(teamStatsRepository.isStale()).isFalse();
+    }
+
+    @Test
+    void histogramBuckets() {
+        TeamStats stats = new TeamStats(1L, new TreeMap<>(Map.of(-1, 1L, 9, 1L, 10, 2L, 150, 1L)));
+
+        assertThat(stats.getAgeHistogram()).containsExactly(2L, 2L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 1L);
+        assertThat(stats.getAverageAge()).isEqualTo(35.6);
+    }
+}
@@ -0,0 +1,78 @@
+package com.spring.datajpa.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public class SearchIndexTest {
+
+    @Test
+    void prefixSearchOverValueAndTokens() {
+        SearchIndex index = new SearchIndex();
+        index.put(1L, "kim_minsu");
+        index.put(2L, "Kim Jisoo");
+        index.put(3L, "lee_min");
+
+        assertThat(index.search("kim", SearchMode.PREFIX, Pageable.unpaged()).getContent()).containsExactly(1L, 2L);
+        assertThat(index.search("min", SearchMode.PREFIX, Pageable.unpaged()).getContent()).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void containsAndFuzzySearch() {
+        SearchIndex index = new SearchIndex();
+        index.put(1L, "member100");
+        index.put(2L, "member200");
+        index.put(3L, "team");
+
+        assertThat(index.search("ber1", SearchMode.CONTAINS, Pageable.unpaged()).getContent()).containsExactly(1L);
+        assertThat(index.search("membr100", SearchMode.FUZZY, Pageable.unpaged()).getContent()).containsExactly(1L, 2L);
+        assertThat(index.search("taem", SearchMode.FUZZY, Pageable.unpaged()).getContent()).isEmpty();
+        assertThat(index.search("tem", SearchMode.FUZZY, Pageable.unpaged()).getContent()).containsExactly(3L);
+    }
+
+    @Test
+    void updateAndRemove() {
+        SearchIndex index = new SearchIndex();
+        index.put(1L, "alpha");
+        index.put(1L, "beta");
+        index.put(2L, "alphabet");
+
+        assertThat(index.search("alpha", SearchMode.PREFIX, Pageable.unpaged()).getContent()).containsExactly(2L);
+
+        index.remove(2L);
+        assertThat(index.search("alph", SearchMode.CONTAINS, Pageable.unpaged())).isEmpty();
+        assertThat(index.getTermCount()).isEqualTo(1);
+    }
+
+    @Test
+    void paging() {
+        SearchIndex index = new SearchIndex();
+        for (long id = 1; id <= 25; id++) {
+            index.put(id, "user" + id);
+        }
+
+        Slice<Long> page = index.search("user", SearchMode.PREFIX, PageRequest.of(1, 10));
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.hasNext()).isTrue();
+
+        Slice<Long> last = index.search("user", SearchMode.PREFIX, PageRequest.of(2, 10));
+        assertThat(last.getContent()).hasSize(5);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void shortQueriesDoNotScanAllTerms() {
+        SearchIndex index = new SearchIndex();
+        index.put(1L, "member1");
+        index.put(2L, "team1");
+
+        // 포함 검색은 trigram이 필요하다.
+        assertThat(index.search("em", SearchMode.CONTAINS, Pageable.unpaged())).isEmpty();
+        // 짧은 오타 검색은 trigram을 공유하거나 첫 글자가 같은 단어만 비교한다.
+        assertThat(index.search("tam1", SearchMode.FUZZY, Pageable.unpaged()).getContent()).containsExactly(2L);
+        assertThat(index.search("eam1", SearchMode.FUZZY, Pageable.unpaged()).getContent()).containsExactly(2L);
+    }
+}
@@ -0,0 +1,99 @@
+package com.spring.datajpa.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.entity.Team;
+import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.repository.TeamRepository;
+
+/**
+ * 커밋 이벤트로 색인을 고치므로 테스트 트랜잭션 없이 실행하고 직접 정리한다.
+ */
+@SpringBootTest(properties = { "app.search.enabled=true", "app.search.rebuild-on-startup=false" })
+class SearchIndexerTest {
+
+    @Autowired
+    private SearchIndexer searchIndexer;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private List<Member> members = List.of();
+    private List<Team> teams = List.of();
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch(members);
+        teamRepository.deleteAllInBatch(teams);
+    }
+
+    @Test
+    void committedChangesUpdateIndex() {
+        Team team = teamRepository.save(new Team("indexerTeam"));
+        teams = List.of(team);
+        Member member = memberRepository.save(new Member("indexer_kim", 10, team));
+        members = List.of(member);
+
+        assertThat(searchMembers("indexer_k")).containsExactly(member.getId());
+        assertThat(searchIndexer.searchTeams("indexerteam", SearchMode.PREFIX, Pageable.unpaged()).getContent())
+                .containsExactly(team.getId());
+
+        // 이름 변경: 이전 단어는 지우고 새 단어로 찾는다.
+        transactionTemplate.executeWithoutResult(status ->
+                memberRepository.findById(member.getId()).orElseThrow().setUsername("indexer_lee"));
+        assertThat(searchMembers("indexer_k")).isEmpty();
+        assertThat(searchMembers("indexer_l")).containsExactly(member.getId());
+
+        memberRepository.deleteById(member.getId());
+        assertThat(searchMembers("indexer_l")).isEmpty();
+    }
+
+    @Test
+    void rolledBackChangesAreNotIndexed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            memberRepository.save(new Member("indexer_rollback", 10, null));
+            memberRepository.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(searchMembers("indexer_rollback")).isEmpty();
+    }
+
+    @Test
+    void changesDuringRebuildAreReplayed() {
+        SearchIndexer.RebuildableIndex index = new SearchIndexer.RebuildableIndex();
+        index.apply(current -> current.put(1L, "before"));
+
+        SearchIndex loaded = new SearchIndex();
+        loaded.put(1L, "before");
+        index.rebuild(() -> {
+            // DB를 읽는 동안 커밋된 변경
+            index.apply(current -> current.put(2L, "during"));
+            index.apply(current -> current.remove(1L));
+            return loaded;
+        });
+
+        assertThat(index.current.search("during", SearchMode.PREFIX, Pageable.unpaged()).getContent()).containsExactly(2L);
+        assertThat(index.current.search("before", SearchMode.PREFIX, Pageable.unpaged())).isEmpty();
+    }
+
+    private List<Long> searchMembers(String query) {
+        return searchIndexer.searchMembers(query, SearchMode.PREFIX, Pageable.unpaged()).getContent();
+    }
+}
@@ -0,0 +1,74 @@
+package com.spring.datajpa.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.spring.datajpa.dto.BulkUpdateProgress;
+import com.spring.datajpa.entity.BulkUpdateStatus;
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.repository.BulkUpdateChunkRepository;
+import com.spring.datajpa.repository.BulkUpdateJobRepository;
+import com.spring.datajpa.repository.MemberRepository;
+
+/**
+ * 구간마다 커밋되므로 테스트 트랜잭션 없이 실행하고 직접 정리한다.
+ */
+@SpringBootTest(properties = { "app.bulk-update.chunk-size=7", "app.bulk-update.parallelism=3" })
+class MemberBulkUpdateServiceTest {
+
+    @Autowired
+    private MemberBulkUpdateService memberBulkUpdateService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BulkUpdateJobRepository jobRepository;
+
+    @Autowired
+    private BulkUpdateChunkRepository chunkRepository;
+
+    private List<Member> members = List.of();
+    private Long jobId;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch(members);
+        if (jobId != null) {
+            chunkRepository.deleteAllInBatch(chunkRepository.findByJobIdOrderByFromId(jobId));
+            jobRepository.deleteById(jobId);
+        }
+    }
+
+    @Test
+    void bulkAgePlusInChunks() {
+        members = memberRepository.saveAll(IntStream.range(0, 50)
+                .mapToObj(i -> new Member("bulk" + i, 1000 + i % 2 * 10, null))
+                .toList());
+
+        BulkUpdateProgress progress = memberBulkUpdateService.bulkAgePlus(1010);
+        jobId = progress.getJobId();
+
+        assertThat(progress.isDone()).isTrue();
+        assertThat(progress.getUpdatedRows()).isEqualTo(25);
+        assertThat(jobRepository.findById(progress.getJobId()).get().getStatus())
+                .isEqualTo(BulkUpdateStatus.COMPLETED);
+        assertThat(memberRepository.findAllById(members.stream().map(Member::getId).toList()))
+                .extracting(Member::getAge)
+                .containsOnly(1000, 1011);
+        // 대상 id 범위(bulk1 ~ bulk49)에 있는 id 49개를 7개씩 나눈다. (id 사이 간격과 상관없음)
+        assertThat(chunkRepository.findByJobIdOrderByFromId(jobId)).hasSize(7);
+        assertThat(jobRepository.findById(jobId).get().getLastId()).isEqualTo(members.get(49).getId());
+
+        // 완료된 작업을 다시 resume 해도 두 번 반영되지 않는다.
+        memberBulkUpdateService.resume(progress.getJobId());
+        assertThat(memberRepository.findByUsername("bulk1").get(0).getAge()).isEqualTo(1011);
+    }
+}
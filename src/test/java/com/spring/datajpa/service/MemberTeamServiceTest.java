@@ -0,0 +1,104 @@
+package com.spring.datajpa.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.spring.datajpa.entity.Member;
+import com.spring.datajpa.entity.Team;
+import com.spring.datajpa.repository.MemberRepository;
+import com.spring.datajpa.repository.TeamRepository;
+import com.spring.datajpa.retry.RetryingExecutor;
+
+/**
+ * 스레드마다 커밋하므로 테스트 트랜잭션 없이 실행하고 직접 정리한다.
+ */
+@SpringBootTest(properties = "app.retry.max-attempts=100")
+class MemberTeamServiceTest {
+
+    private static final int THREADS = 4;
+    private static final int CHANGES = 10;
+
+    @Autowired
+    private MemberTeamService memberTeamService;
+
+    @Autowired
+    private RetryingExecutor retryingExecutor;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private List<Member> members = List.of();
+    private List<Team> teams = List.of();
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch(members);
+        teamRepository.deleteAllInBatch(teams);
+    }
+
+    @Test
+    void concurrentTeamChangesAreNotLost() {
+        runConcurrently(memberTeamService::changeTeam);
+
+        // 팀 변경 한 번마다 새 팀의 버전이 1씩 올라간다. 덮어쓴 변경이 있으면 합이 모자란다.
+        assertThat(teamVersionSum()).isEqualTo(THREADS * CHANGES);
+        assertThat(memberRepository.findAllById(members.stream().map(Member::getId).toList()))
+                .extracting(Member::getVersion)
+                .containsOnly((long) CHANGES);
+        assertThat(retryingExecutor.getStats(MemberTeamService.CHANGE_TEAM).getExhausted()).isZero();
+    }
+
+    @Test
+    void pessimisticLockSerializesTeamChanges() {
+        runConcurrently(memberTeamService::changeTeamWithLock);
+
+        assertThat(teamVersionSum()).isEqualTo(THREADS * CHANGES);
+    }
+
+    /**
+     * 스레드마다 자기 회원을 두 팀 사이에서 번갈아 옮긴다.
+     */
+    private void runConcurrently(TeamChange change) {
+        teams = teamRepository.saveAll(List.of(new Team("hotA"), new Team("hotB")));
+        members = memberRepository.saveAll(IntStream.range(0, THREADS)
+                .mapToObj(i -> new Member("contention" + i, 20, null))
+                .toList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CompletableFuture.allOf(members.stream()
+                    .map(member -> CompletableFuture.runAsync(() -> {
+                        for (int i = 0; i < CHANGES; i++) {
+                            change.apply(member.getId(), teams.get(i % 2).getId());
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private long teamVersionSum() {
+        return teamRepository.findAllById(teams.stream().map(Team::getId).toList()).stream()
+                .mapToLong(Team::getVersion)
+                .sum();
+    }
+
+    private interface TeamChange {
+        void apply(Long memberId, Long teamId);
+    }
+}
@@ -0,0 +1,31 @@
+package com.spring.datajpa.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+public class SlowQueryBufferTest {
+
+    @Test
+    void keepLatestEntries() {
+        SlowQueryBuffer buffer = new SlowQueryBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(new SlowQuery(LocalDateTime.now(), i, "select " + i, null, null, "main", null));
+        }
+
+        assertThat(buffer.recent())
+                .extracting(SlowQuery::getSql)
+                .containsExactly("select 5", "select 4", "select 3");
+        assertThat(buffer.getTotalCount()).isEqualTo(5);
+    }
+
+    @Test
+    void redactBindValues() {
+        String sql = "select m1_0.member_id from member m1_0 where m1_0.username='it''s' and m1_0.age>=10 and m1_0.member_id in (1,2)";
+
+        assertThat(SlowQueryListener.redact(sql)).isEqualTo(
+                "select m1_0.member_id from member m1_0 where m1_0.username='?' and m1_0.age>=? and m1_0.member_id in (?,?)");
+    }
+}